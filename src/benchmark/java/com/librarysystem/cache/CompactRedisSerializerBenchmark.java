@@ -0,0 +1,98 @@
+package com.librarysystem.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.librarysystem.model.Author;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.Loan;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares bytes per entry and round-trip cost of the compact cache codec against the typed JSON
+ * codec. Run with {@code ./gradlew cacheCodecBenchmark}; the sizes are asserted by the unit tests.
+ */
+public class CompactRedisSerializerBenchmark {
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    public static void main(String[] args) {
+        GenericJackson2JsonRedisSerializer json = createJsonSerializer();
+        CompactRedisSerializer authorSerializer = new CompactRedisSerializer(Author.class, 512);
+        CompactRedisSerializer borrowerSerializer = new CompactRedisSerializer(Borrower.class, 512);
+        CompactRedisSerializer loanSerializer = new CompactRedisSerializer(Loan.class, 512);
+        Author author = createAuthor("64f1c2a9e4b0a1b2c3d4e5f6");
+        Borrower borrower = createBorrower("64f1c2a9e4b0a1b2c3d4e5f7");
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            loans.add(createLoan("64f1c2a9e4b0a1b2c3d4e6" + String.format("%02d", i)));
+        }
+
+        System.out.printf("Cache codec benchmark (bytes per entry, json -> compact):%n");
+        System.out.printf("  author       %5d -> %5d%n", json.serialize(author).length, authorSerializer.serialize(author).length);
+        System.out.printf("  borrower     %5d -> %5d%n", json.serialize(borrower).length, borrowerSerializer.serialize(borrower).length);
+        System.out.printf("  50 loans     %5d -> %5d%n", json.serialize(loans).length, loanSerializer.serialize(loans).length);
+        System.out.printf("Round trip (ns/op, json -> compact):%n");
+        System.out.printf("  author       %5d -> %5d%n", measureRoundTrip(json, author), measureRoundTrip(authorSerializer, author));
+        System.out.printf("  50 loans     %5d -> %5d%n", measureRoundTrip(json, loans), measureRoundTrip(loanSerializer, loans));
+    }
+
+    private static GenericJackson2JsonRedisSerializer createJsonSerializer() {
+        // Same typed JSON layout as the default cache configuration, with java.time support for the dates
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    private static long measureRoundTrip(RedisSerializer<Object> serializer, Object value) {
+        for (int i = 0; i < WARMUP; i++) {
+            serializer.deserialize(serializer.serialize(value));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.deserialize(serializer.serialize(value));
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static Author createAuthor(String id) {
+        Author author = new Author();
+        author.setId(id);
+        author.setFirstName("Fyodor");
+        author.setLastName("Dostoevsky");
+        author.setEmail("fyodor.dostoevsky@example.com");
+        author.setNationality("Russian");
+        author.setBirthDate(LocalDate.of(1821, 11, 11));
+        author.setGenres(List.of("Fiction", "Philosophy"));
+        author.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        return author;
+    }
+
+    private static Borrower createBorrower(String id) {
+        Borrower borrower = new Borrower();
+        borrower.setId(id);
+        borrower.setFirstName("Jane");
+        borrower.setLastName("Smith");
+        borrower.setEmail("jane.smith@example.com");
+        borrower.setPhoneNumber("+15551234567");
+        borrower.setCity("Springfield");
+        borrower.setCountry("USA");
+        return borrower;
+    }
+
+    private static Loan createLoan(String id) {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setBookId("book1");
+        loan.setBorrowerId("borrower1");
+        return loan;
+    }
+}
@@ -2,14 +2,23 @@ package com.librarysystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class LibrarySystemApiApplication {
 
+	// Enough to hold every bean instantiation step of this context
+	private static final int STARTUP_STEP_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(LibrarySystemApiApplication.class, args);
+		SpringApplication application = new SpringApplication(LibrarySystemApiApplication.class);
+		// Records startup steps for /actuator/startup and the startup timing report
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,141 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.timing.ServerTiming;
+import com.librarysystem.timing.ServerTiming.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.NullValue;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Multi-key counterpart of {@code @Cacheable} lookups by id: reads the entries written by the
+ * services' {@code findById} caches with MGET, loads the misses with one repository call and
+ * writes them back in a single pipeline.
+ */
+public class BatchCacheLoader {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private static final Logger log = LoggerFactory.getLogger(BatchCacheLoader.class);
+    private static final int REDIS_CHUNK_SIZE = 500;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final Function<String, RedisCacheConfiguration> cacheConfigurations;
+
+    public BatchCacheLoader(RedisConnectionFactory connectionFactory,
+                            Function<String, RedisCacheConfiguration> cacheConfigurations) {
+        this.connectionFactory = connectionFactory;
+        this.cacheConfigurations = cacheConfigurations;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> loadAll(String cacheName, Collection<String> ids,
+                               Function<Collection<String>, Iterable<T>> missLoader,
+                               Function<T, String> idExtractor) {
+        List<String> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+
+        RedisCacheConfiguration config = cacheConfigurations.apply(cacheName);
+        Map<String, byte[]> keys = new LinkedHashMap<>();
+        distinctIds.forEach(id -> keys.put(id, cacheKey(config, cacheName, id)));
+
+        Map<String, T> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        long readStart = ServerTiming.start();
+        List<byte[]> cachedValues = readAll(new ArrayList<>(keys.values()));
+        ServerTiming.stop(Category.CACHE, readStart);
+        for (int i = 0; i < distinctIds.size(); i++) {
+            String id = distinctIds.get(i);
+            byte[] bytes = cachedValues != null ? cachedValues.get(i) : null;
+            Object value = bytes != null ? config.getValueSerializationPair().read(ByteBuffer.wrap(bytes)) : null;
+            if (value instanceof NullValue) {
+                continue;
+            }
+            if (value == null) {
+                misses.add(id);
+            } else {
+                found.put(id, (T) value);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<byte[], byte[]> loadedEntries = new LinkedHashMap<>();
+            Map<byte[], Duration> ttls = new HashMap<>();
+            for (T value : missLoader.apply(misses)) {
+                String id = idExtractor.apply(value);
+                found.put(id, value);
+                byte[] key = keys.get(id);
+                if (key != null) {
+                    loadedEntries.put(key, ByteUtils.getBytes(config.getValueSerializationPair().write(value)));
+                    ttls.put(key, config.getTtlFunction().getTimeToLive(id, value));
+                }
+            }
+            long writeStart = ServerTiming.start();
+            writeAll(loadedEntries, ttls);
+            ServerTiming.stop(Category.CACHE, writeStart);
+        }
+
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    private byte[] cacheKey(RedisCacheConfiguration config, String cacheName, String id) {
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(config.getKeyPrefixFor(cacheName) + id));
+    }
+
+    private List<byte[]> readAll(List<byte[]> keys) {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            for (int start = 0; start < keys.size(); start += REDIS_CHUNK_SIZE) {
+                List<byte[]> chunk = keys.subList(start, Math.min(start + REDIS_CHUNK_SIZE, keys.size()));
+                List<byte[]> chunkValues = connection.stringCommands().mGet(chunk.toArray(new byte[0][]));
+                if (chunkValues == null) {
+                    return null;
+                }
+                values.addAll(chunkValues);
+            }
+            return values;
+        } catch (DataAccessException ex) {
+            // The cache is an optimisation; serve everything from MongoDB when Redis is unavailable
+            log.warn("Batch cache read failed, loading {} keys from the database: {}", keys.size(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private void writeAll(Map<byte[], byte[]> entries, Map<byte[], Duration> ttls) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                Duration ttl = ttls.get(key);
+                Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                        ? Expiration.from(ttl)
+                        : Expiration.persistent();
+                connection.stringCommands().set(key, value, expiration, SetOption.upsert());
+            });
+            connection.closePipeline();
+        } catch (DataAccessException ex) {
+            log.warn("Batch cache write failed for {} keys: {}", entries.size(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.librarysystem.cache;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memory-mapped snapshot of cache entries in their serialized Redis form:
+ * <pre>
+ * int magic, long takenAt (epoch millis), int count, then per entry:
+ *   short cacheNameLength, cacheName (UTF-8), short keyLength, key (UTF-8), int valueLength, value
+ * </pre>
+ * Files are written next to the target and moved into place, so a crash never leaves a torn snapshot.
+ */
+public final class CacheSnapshotFile {
+
+    // Version 2 added takenAt; older files are rejected and therefore ignored
+    private static final int MAGIC = 0x4C435332;
+    private static final int HEADER_SIZE = 16;
+
+    private CacheSnapshotFile() {
+    }
+
+    public record Entry(String cacheName, String key, byte[] value) {
+    }
+
+    public record Snapshot(Instant takenAt, List<Entry> entries) {
+    }
+
+    public static void write(Path path, Instant takenAt, List<Entry> entries) throws IOException {
+        List<byte[][]> encoded = new ArrayList<>(entries.size());
+        long size = HEADER_SIZE;
+        for (Entry entry : entries) {
+            byte[] cacheName = entry.cacheName().getBytes(StandardCharsets.UTF_8);
+            byte[] key = entry.key().getBytes(StandardCharsets.UTF_8);
+            if (cacheName.length > Short.MAX_VALUE || key.length > Short.MAX_VALUE) {
+                continue;
+            }
+            encoded.add(new byte[][] {cacheName, key, entry.value()});
+            size += 2 + cacheName.length + 2 + key.length + 4 + entry.value().length;
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC);
+                buffer.putLong(takenAt.toEpochMilli());
+                buffer.putInt(encoded.size());
+                for (byte[][] entry : encoded) {
+                    buffer.putShort((short) entry[0].length).put(entry[0]);
+                    buffer.putShort((short) entry[1].length).put(entry[1]);
+                    buffer.putInt(entry[2].length).put(entry[2]);
+                }
+                buffer.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a cache snapshot: " + path);
+            }
+            Instant takenAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String cacheName = new String(next(buffer, buffer.getShort()), StandardCharsets.UTF_8);
+                String key = new String(next(buffer, buffer.getShort()), StandardCharsets.UTF_8);
+                entries.add(new Entry(cacheName, key, next(buffer, buffer.getInt())));
+            }
+            return new Snapshot(takenAt, entries);
+        }
+    }
+
+    private static byte[] next(MappedByteBuffer buffer, int length) throws IOException {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Truncated cache snapshot");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
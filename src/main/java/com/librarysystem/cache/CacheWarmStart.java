@@ -0,0 +1,207 @@
+package com.librarysystem.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps a local snapshot of the hottest cache entries and replays it into Redis on startup.
+ * Restoring runs as an {@link ApplicationRunner}, i.e. before the instance reports itself ready;
+ * the restored entries are then reloaded from MongoDB one by one on a background thread so any
+ * value that changed while the instance was down is soon replaced.
+ * <p>
+ * A snapshot older than {@code maxAge} is not restored, and restored entries only live for what
+ * is left of their TTL, so a warm start never serves data older than a normal cache hit could be.
+ */
+public class CacheWarmStart implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmStart.class);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final Function<String, RedisCacheConfiguration> cacheConfigurations;
+    private final CacheManager cacheManager;
+    private final HotKeyTracker tracker;
+    private final Map<String, Function<String, Object>> loaders;
+    private final Path snapshotFile;
+    private final int keysPerCache;
+    private final int refreshPerSecond;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    public CacheWarmStart(RedisConnectionFactory connectionFactory, Function<String, RedisCacheConfiguration> cacheConfigurations,
+                          CacheManager cacheManager, HotKeyTracker tracker, Map<String, Function<String, Object>> loaders,
+                          Path snapshotFile, int keysPerCache, int refreshPerSecond, Duration maxAge) {
+        this(connectionFactory, cacheConfigurations, cacheManager, tracker, loaders, snapshotFile, keysPerCache, refreshPerSecond,
+                maxAge, Clock.systemUTC());
+    }
+
+    CacheWarmStart(RedisConnectionFactory connectionFactory, Function<String, RedisCacheConfiguration> cacheConfigurations,
+                   CacheManager cacheManager, HotKeyTracker tracker, Map<String, Function<String, Object>> loaders,
+                   Path snapshotFile, int keysPerCache, int refreshPerSecond, Duration maxAge, Clock clock) {
+        this.connectionFactory = connectionFactory;
+        this.cacheConfigurations = cacheConfigurations;
+        this.cacheManager = cacheManager;
+        this.tracker = tracker;
+        this.loaders = loaders;
+        this.snapshotFile = snapshotFile;
+        this.keysPerCache = keysPerCache;
+        this.refreshPerSecond = refreshPerSecond;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        CacheSnapshotFile.Snapshot snapshot;
+        try {
+            snapshot = CacheSnapshotFile.read(snapshotFile);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache snapshot {}: {}", snapshotFile, e.getMessage());
+            return;
+        }
+        Duration age = Duration.between(snapshot.takenAt(), clock.instant());
+        if (age.compareTo(maxAge) > 0) {
+            log.info("Ignoring cache snapshot {} taken {} s ago, older than {} s", snapshotFile, age.toSeconds(), maxAge.toSeconds());
+            return;
+        }
+        List<CacheSnapshotFile.Entry> entries = snapshot.entries().stream()
+                .filter(entry -> loaders.containsKey(entry.cacheName()))
+                .toList();
+        if (restore(entries, age)) {
+            log.info("Restored {} cache entries from {} in {} ms", entries.size(), snapshotFile, System.currentTimeMillis() - start);
+            startRefresh(entries);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${library.cache.warm-start.snapshot-interval-ms:300000}",
+               initialDelayString = "${library.cache.warm-start.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        List<CacheSnapshotFile.Entry> entries = new ArrayList<>();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            for (String cacheName : tracker.getTrackedCaches()) {
+                List<String> keys = tracker.hottest(cacheName, keysPerCache);
+                if (keys.isEmpty()) {
+                    continue;
+                }
+                List<byte[]> values = connection.stringCommands().mGet(keys.stream()
+                        .map(key -> redisKey(cacheName, key))
+                        .toArray(byte[][]::new));
+                for (int i = 0; values != null && i < keys.size(); i++) {
+                    if (values.get(i) != null) {
+                        entries.add(new CacheSnapshotFile.Entry(cacheName, keys.get(i), values.get(i)));
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Cache snapshot skipped, Redis unavailable: {}", e.getMessage());
+            return;
+        }
+        tracker.decay();
+
+        // Never replace a useful snapshot with an empty one, e.g. right after a restart
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            CacheSnapshotFile.write(snapshotFile, clock.instant(), entries);
+            log.debug("Wrote {} cache entries to {}", entries.size(), snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not write cache snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    private boolean restore(List<CacheSnapshotFile.Entry> entries, Duration age) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (CacheSnapshotFile.Entry entry : entries) {
+                Duration ttl = cacheConfigurations.apply(entry.cacheName()).getTtlFunction().getTimeToLive(entry.key(), null);
+                Expiration expiration;
+                if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+                    // The entry was at most as fresh as the snapshot, so it keeps only the rest of its TTL
+                    Duration remaining = ttl.minus(age);
+                    if (remaining.isZero() || remaining.isNegative()) {
+                        continue;
+                    }
+                    expiration = Expiration.from(remaining);
+                } else {
+                    expiration = Expiration.persistent();
+                }
+                // Entries already in Redis are newer than the snapshot and are kept
+                connection.stringCommands().set(redisKey(entry.cacheName(), entry.key()), entry.value(), expiration, SetOption.ifAbsent());
+            }
+            connection.closePipeline();
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Cache warm start skipped, Redis unavailable: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void startRefresh(List<CacheSnapshotFile.Entry> entries) {
+        Thread refresher = new Thread(() -> {
+            long pauseNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, refreshPerSecond);
+            int refreshed = 0;
+            for (CacheSnapshotFile.Entry entry : entries) {
+                Cache cache = cacheManager.getCache(entry.cacheName());
+                if (cache == null) {
+                    continue;
+                }
+                try {
+                    Object value = loaders.get(entry.cacheName()).apply(entry.key());
+                    if (value == null) {
+                        cache.evict(entry.key());
+                    } else {
+                        cache.put(entry.key(), value);
+                    }
+                    refreshed++;
+                    TimeUnit.NANOSECONDS.sleep(pauseNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.debug("Could not refresh {}::{}: {}", entry.cacheName(), entry.key(), e.getMessage());
+                }
+            }
+            log.info("Refreshed {} warm-started cache entries", refreshed);
+        }, "cache-warm-start-refresh");
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    private byte[] redisKey(String cacheName, String key) {
+        RedisCacheConfiguration config = cacheConfigurations.apply(cacheName);
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(config.getKeyPrefixFor(cacheName) + key));
+    }
+}
@@ -0,0 +1,187 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.tenant.TenantContext;
+import com.librarysystem.timing.ServerTiming;
+import com.librarysystem.timing.ServerTiming.Category;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that turns a miss on {@code @Cacheable(sync = true)} methods into a single
+ * load per key on this instance and, when a {@link RedisLoadLock} is configured, a single
+ * load per key across instances. Callers that lose the race wait for the winner's value.
+ */
+public class CoalescingCache implements Cache {
+
+    private static final long POLL_INTERVAL_MILLIS = 25;
+
+    private final Cache delegate;
+    private final RedisLoadLock loadLock;
+    private final HotKeyTracker hotKeyTracker;
+    private final SingleFlight<Object> singleFlight = new SingleFlight<>();
+
+    public CoalescingCache(Cache delegate, RedisLoadLock loadLock) {
+        this(delegate, loadLock, null);
+    }
+
+    public CoalescingCache(Cache delegate, RedisLoadLock loadLock, HotKeyTracker hotKeyTracker) {
+        this.delegate = delegate;
+        this.loadLock = loadLock;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        recordAccess(key);
+        long start = ServerTiming.start();
+        try {
+            return delegate.get(key);
+        } finally {
+            ServerTiming.stop(Category.CACHE, start);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        recordAccess(key);
+        long start = ServerTiming.start();
+        ValueWrapper cached;
+        try {
+            cached = delegate.get(key);
+        } finally {
+            ServerTiming.stop(Category.CACHE, start);
+        }
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        try {
+            // Branches share this cache object but not their values, so a load is only shared within a branch
+            String branch = TenantContext.current();
+            Object flightKey = branch == null ? key : branch + "::" + key;
+            return singleFlight.execute(flightKey, () -> load(key, valueLoader));
+        } catch (ValueRetrievalException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        long start = ServerTiming.start();
+        try {
+            delegate.put(key, value);
+        } finally {
+            ServerTiming.stop(Category.CACHE, start);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        long start = ServerTiming.start();
+        try {
+            delegate.evict(key);
+        } finally {
+            ServerTiming.stop(Category.CACHE, start);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    public int inFlightLoads() {
+        return singleFlight.inFlightCount();
+    }
+
+    private void recordAccess(Object key) {
+        // Warm start snapshots the default branch only
+        if (hotKeyTracker != null && TenantContext.current() == null) {
+            hotKeyTracker.record(getName(), key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+        if (loadLock == null) {
+            return loadAndPut(key, valueLoader);
+        }
+
+        String lockName = TenantContext.redisNamespace() + getName() + "::" + key;
+        String token = loadLock.tryAcquire(lockName);
+        if (token == null) {
+            // Another instance is loading this key; wait briefly for its result before loading ourselves
+            long deadline = System.nanoTime() + loadLock.getWaitTime().toNanos();
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+                ValueWrapper loaded = delegate.get(key);
+                if (loaded != null) {
+                    return (T) loaded.get();
+                }
+            }
+            return loadAndPut(key, valueLoader);
+        }
+
+        try {
+            ValueWrapper loaded = delegate.get(key);
+            if (loaded != null) {
+                return (T) loaded.get();
+            }
+            return loadAndPut(key, valueLoader);
+        } finally {
+            loadLock.release(lockName, token);
+        }
+    }
+
+    private <T> T loadAndPut(Object key, Callable<T> valueLoader) throws Exception {
+        T value = valueLoader.call();
+        put(key, value);
+        return value;
+    }
+}
@@ -0,0 +1,48 @@
+package com.librarysystem.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class CoalescingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final RedisLoadLock loadLock;
+    private final HotKeyTracker hotKeyTracker;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public CoalescingCacheManager(CacheManager delegate, RedisLoadLock loadLock) {
+        this(delegate, loadLock, null);
+    }
+
+    public CoalescingCacheManager(CacheManager delegate, RedisLoadLock loadLock, HotKeyTracker hotKeyTracker) {
+        this.delegate = delegate;
+        this.loadLock = loadLock;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new CoalescingCache(target, loadLock, hotKeyTracker));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,168 @@
+package com.librarysystem.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Typed binary codec for cache values. Every cache using it stores a single entity type,
+ * so values are written as Smile (binary JSON) without the {@code @class} hints that
+ * {@code GenericJackson2JsonRedisSerializer} embeds, and payloads at or above the
+ * compression threshold are deflated.
+ * <p>
+ * Layout: one header byte (value kind, high bit set when compressed), then for compressed
+ * values the 4-byte uncompressed length, then the payload. Entries that do not start with a
+ * known header (for example JSON written before a cache was switched over) read as a miss.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte KIND_NULL = 0;
+    private static final byte KIND_SINGLE = 1;
+    private static final byte KIND_LIST = 2;
+    private static final int KIND_MASK = 0x0F;
+    private static final int FLAG_COMPRESSED = 0x80;
+
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private final JavaType valueType;
+    private final JavaType listType;
+    private final int compressionThreshold;
+
+    public CompactRedisSerializer(Class<?> type, int compressionThreshold) {
+        this.valueType = MAPPER.constructType(type);
+        this.listType = MAPPER.getTypeFactory().constructCollectionType(List.class, type);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null || value instanceof NullValue) {
+            return new byte[] { KIND_NULL };
+        }
+
+        byte kind = value instanceof Collection ? KIND_LIST : KIND_SINGLE;
+        byte[] payload;
+        try {
+            payload = MAPPER.writerFor(kind == KIND_LIST ? listType : valueType).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value of type " + value.getClass().getName(), e);
+        }
+
+        if (compressionThreshold > 0 && payload.length >= compressionThreshold) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length + Integer.BYTES < payload.length) {
+                return ByteBuffer.allocate(1 + Integer.BYTES + compressed.length)
+                        .put((byte) (kind | FLAG_COMPRESSED))
+                        .putInt(payload.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+
+        byte[] bytes = new byte[payload.length + 1];
+        bytes[0] = kind;
+        System.arraycopy(payload, 0, bytes, 1, payload.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        int header = bytes[0] & 0xFF;
+        int kind = header & KIND_MASK;
+        boolean compressed = (header & FLAG_COMPRESSED) != 0;
+        if ((header & ~(KIND_MASK | FLAG_COMPRESSED)) != 0 || kind > KIND_LIST) {
+            return null;
+        }
+        if (kind == KIND_NULL) {
+            return NullValue.INSTANCE;
+        }
+
+        try {
+            byte[] payload;
+            int offset;
+            int length;
+            if (compressed) {
+                int originalLength = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+                payload = inflate(bytes, 1 + Integer.BYTES, originalLength);
+                offset = 0;
+                length = payload.length;
+            } else {
+                payload = bytes;
+                offset = 1;
+                length = bytes.length - 1;
+            }
+            return MAPPER.readerFor(kind == KIND_LIST ? listType : valueType).readValue(payload, offset, length);
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("Could not read cache value of type " + valueType, e);
+        }
+    }
+
+    static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.registerModule(new JavaTimeModule());
+        // Persist state only: derived getters such as Loan.isOverdue() must not end up in the cache
+        mapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int offset, int originalLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input, offset, input.length - offset);
+            byte[] output = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength) {
+                int count = inflater.inflate(output, read, originalLength - read);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != originalLength) {
+                throw new DataFormatException("Truncated cache value: expected " + originalLength + " bytes, got " + read);
+            }
+            return output;
+        } finally {
+            inflater.end();
+        }
+    }
+}
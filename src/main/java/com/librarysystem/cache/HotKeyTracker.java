@@ -0,0 +1,64 @@
+package com.librarysystem.cache;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate access counts per cache key, used to pick the entries worth snapshotting. Each
+ * cache tracks a bounded number of keys; once full, new keys are ignored until the next
+ * {@link #decay()} halves all counts and forgets the keys that reached zero.
+ */
+public class HotKeyTracker {
+
+    private final Set<String> trackedCaches;
+    private final int maxKeysPerCache;
+    private final Map<String, Map<String, LongAdder>> counts = new ConcurrentHashMap<>();
+
+    public HotKeyTracker(Collection<String> trackedCaches, int maxKeysPerCache) {
+        this.trackedCaches = Set.copyOf(trackedCaches);
+        this.maxKeysPerCache = maxKeysPerCache;
+    }
+
+    public void record(String cacheName, Object key) {
+        if (!(key instanceof String id) || !trackedCaches.contains(cacheName)) {
+            return;
+        }
+        Map<String, LongAdder> cacheCounts = counts.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>());
+        LongAdder counter = cacheCounts.get(id);
+        if (counter == null) {
+            if (cacheCounts.size() >= maxKeysPerCache) {
+                return;
+            }
+            counter = cacheCounts.computeIfAbsent(id, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public Set<String> getTrackedCaches() {
+        return trackedCaches;
+    }
+
+    public List<String> hottest(String cacheName, int limit) {
+        Map<String, LongAdder> cacheCounts = counts.getOrDefault(cacheName, Map.of());
+        return cacheCounts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public void decay() {
+        for (Map<String, LongAdder> cacheCounts : counts.values()) {
+            cacheCounts.entrySet().removeIf(entry -> {
+                long halved = entry.getValue().sumThenReset() / 2;
+                entry.getValue().add(halved);
+                return halved == 0;
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.librarysystem.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short-lived Redis lock used to let a single instance reload an expired cache entry.
+ * The lease expires on its own, so a crashed holder only delays other instances.
+ */
+public class RedisLoadLock {
+
+    private static final String DEFAULT_KEY_PREFIX = "lock:cache-load:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration leaseTime;
+    private final Duration waitTime;
+
+    public RedisLoadLock(StringRedisTemplate redisTemplate, Duration leaseTime, Duration waitTime) {
+        this(redisTemplate, DEFAULT_KEY_PREFIX, leaseTime, waitTime);
+    }
+
+    public RedisLoadLock(StringRedisTemplate redisTemplate, String keyPrefix, Duration leaseTime, Duration waitTime) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.leaseTime = leaseTime;
+        this.waitTime = waitTime;
+    }
+
+    public String tryAcquire(String name) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(keyPrefix + name, token, leaseTime);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void release(String name, String token) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(keyPrefix + name), token);
+    }
+
+    public Duration getWaitTime() {
+        return waitTime;
+    }
+}
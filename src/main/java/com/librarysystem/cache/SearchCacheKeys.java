@@ -0,0 +1,48 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Builds search cache keys of the form {@code <generation>:<normalized query>}. Every write to a
+ * collection bumps its generation in Redis, so all cached searches over it stop being read at
+ * once and simply expire; no scan or delete of the old entries is needed.
+ */
+@Component("searchKeys")
+public class SearchCacheKeys {
+
+    private static final String GENERATION_PREFIX = "search:generation:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public SearchCacheKeys(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public String of(String collection, String query) {
+        // The searches are case-insensitive, so case does not need its own entry
+        return generation(collection) + ":" + normalize(query).toLowerCase(Locale.ROOT);
+    }
+
+    public long generation(String collection) {
+        String value = redisTemplate.opsForValue().get(generationKey(collection));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    public void bump(String collection) {
+        redisTemplate.opsForValue().increment(generationKey(collection));
+    }
+
+    private String generationKey(String collection) {
+        return TenantContext.redisNamespace() + GENERATION_PREFIX + collection;
+    }
+
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ");
+    }
+}
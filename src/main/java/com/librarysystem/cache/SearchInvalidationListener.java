@@ -0,0 +1,46 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.events.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Invalidates cached searches after a document of a searchable collection is saved or deleted.
+ * The generation is bumped after the write has committed, so a search that raced with it can only
+ * have been stored under the previous generation. Checkouts and returns bump it as well: cached
+ * results carry the available copies, which must not lag behind the book.
+ */
+@Component
+public class SearchInvalidationListener extends AbstractMongoEventListener<Object> {
+
+    private static final Set<String> SEARCHABLE_COLLECTIONS = Set.of("books", "authors", "borrowers");
+
+    private final SearchCacheKeys searchKeys;
+
+    @Autowired
+    public SearchInvalidationListener(SearchCacheKeys searchKeys) {
+        this.searchKeys = searchKeys;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        invalidate(event.getCollectionName());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        invalidate(event.getCollectionName());
+    }
+
+    private void invalidate(String collection) {
+        if (collection != null && SEARCHABLE_COLLECTIONS.contains(collection)) {
+            // A search running before the commit still sees the old document; bumping earlier would let it cache that
+            AfterCommit.run(() -> searchKeys.bump(collection));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.librarysystem.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapses concurrent loads of the same key into one call: the first caller runs the
+ * loader, every caller arriving while it is in flight waits for and shares its result.
+ */
+public class SingleFlight<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Callable<V> loader) throws Exception {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return (V) await(existing);
+        }
+
+        try {
+            V value = loader.call();
+            call.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> call) throws Exception {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.librarysystem.config;
+
+import com.librarysystem.web.EndpointGroup;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "library.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+    // Groups without an entry share the remaining worker threads
+    private Map<EndpointGroup, Limits> groups = new EnumMap<>(EndpointGroup.class);
+
+    @Data
+    public static class Limits {
+        private int maxConcurrent = 10;
+        private int maxQueue = 10;
+        private Duration maxWait = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,21 @@
+package com.librarysystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "library.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    private double smoothing = 0.2;
+    // Re-measure the no-load latency every probeMultiplier * limit samples
+    private int probeMultiplier = 30;
+    // Fraction of the limit that default and search/export requests may occupy; checkout may use all of it
+    private double normalShare = 0.9;
+    private double sheddableShare = 0.7;
+
+}
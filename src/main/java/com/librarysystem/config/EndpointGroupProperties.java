@@ -0,0 +1,18 @@
+package com.librarysystem.config;
+
+import com.librarysystem.web.EndpointGroup;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "library.endpoint-groups")
+public class EndpointGroupProperties {
+
+    // Entries are "METHOD /path/pattern" or "/path/pattern" for any method
+    private Map<EndpointGroup, List<String>> patterns = new EnumMap<>(EndpointGroup.class);
+
+}
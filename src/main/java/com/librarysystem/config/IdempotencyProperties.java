@@ -0,0 +1,22 @@
+package com.librarysystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "library.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private String header = "Idempotency-Key";
+    // How long a finished response is replayed for retries with the same key
+    private Duration ttl = Duration.ofHours(24);
+    // Expiry of a claim; renewed every third of it while the request runs, so it only matters if the instance dies
+    private Duration lease = Duration.ofSeconds(30);
+    private int maxKeyLength = 255;
+    // Bodies are read into memory to be part of the request fingerprint
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+}
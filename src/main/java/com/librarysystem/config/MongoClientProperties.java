@@ -0,0 +1,31 @@
+package com.librarysystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Driver settings for every MongoDB client the application creates. They are defaults: an option
+ * given in the connection string (e.g. {@code ?maxPoolSize=50}) takes precedence over the property.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.mongodb.client")
+public class MongoClientProperties {
+
+    private int minPoolSize = 0;
+    private int maxPoolSize = 100;
+    // How long a request waits for a pooled connection before failing
+    private Duration maxWaitTime = Duration.ofSeconds(2);
+    private Duration maxConnectionIdleTime = Duration.ofMinutes(1);
+    private Duration maxConnectionLifeTime = Duration.ZERO;
+    private int maxConnecting = 2;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    // Socket read timeout; zero waits forever
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration serverSelectionTimeout = Duration.ofSeconds(5);
+    // Wire compression in order of preference, negotiated with the server: zstd, snappy, zlib
+    private List<String> compressors = new ArrayList<>(List.of("zstd", "snappy"));
+}
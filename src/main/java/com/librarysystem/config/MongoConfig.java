@@ -1,30 +1,223 @@
 package com.librarysystem.config;
 
+import com.librarysystem.mongo.CheckoutWaitListener;
+import com.librarysystem.mongo.SlowQueriesEndpoint;
+import com.librarysystem.mongo.SlowQueryListener;
+import com.librarysystem.mongo.SlowQueryLog;
+import com.librarysystem.routing.ReadRouting;
+import com.librarysystem.routing.ReadRoutingMongoDatabaseFactory;
+import com.librarysystem.tenant.TenantRoutingMongoDatabaseFactory;
+import com.librarysystem.timing.ServerTimingCommandListener;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableMongoRepositories(basePackages = "com.librarysystem.repository")
+@EnableConfigurationProperties(MongoClientProperties.class)
 public class MongoConfig {
 
+    private final MongoClientProperties clientProperties;
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+
     @Value("${spring.data.mongodb.uri:mongodb://localhost:27017/library}")
     private String mongoUri;
 
+    @Value("${library.mongodb.read-routing.enabled:true}")
+    private boolean readRoutingEnabled;
+
+    @Value("${library.mongodb.read-routing.read-preference:secondaryPreferred}")
+    private String readRoutingPreference;
+
+    @Value("${library.mongodb.read-routing.max-staleness:90s}")
+    private Duration readRoutingMaxStaleness;
+
+    @Value("${library.mongodb.slow-queries.enabled:true}")
+    private boolean slowQueriesEnabled;
+
+    @Autowired
+    public MongoConfig(MongoClientProperties clientProperties, MeterRegistry meterRegistry,
+                       @Value("${library.mongodb.slow-queries.threshold:200ms}") Duration slowQueryThreshold,
+                       @Value("${library.mongodb.slow-queries.capacity:200}") int slowQueryCapacity,
+                       @Value("${library.mongodb.slow-queries.explain:true}") boolean explainSlowQueries,
+                       @Value("${library.mongodb.slow-queries.plan-ttl:10m}") Duration slowQueryPlanTtl) {
+        this.clientProperties = clientProperties;
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = new SlowQueryLog(slowQueryThreshold, slowQueryCapacity, explainSlowQueries, slowQueryPlanTtl);
+    }
+
     @Bean
     @Primary
     public MongoClient mongoClient() {
-        return MongoClients.create(mongoUri);
+        return createClient(mongoUri);
+    }
+
+    // Created with the configuration because every client it builds reports to it
+    @Bean(destroyMethod = "close")
+    public SlowQueryLog slowQueryLog() {
+        return slowQueryLog;
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueriesEndpoint(slowQueryLog);
+    }
+
+    @Bean
+    @Primary
+    public MongoDatabaseFactory mongoDatabaseFactory(TenantProperties tenantProperties) {
+        MongoDatabaseFactory factory = tenantDatabaseFactory(tenantProperties);
+        if (!readRoutingEnabled) {
+            return factory;
+        }
+        // MongoDB rejects a max staleness below 90 seconds
+        if (readRoutingMaxStaleness.toSeconds() < 90) {
+            throw new IllegalStateException("library.mongodb.read-routing.max-staleness must be at least 90s");
+        }
+        ReadPreference secondary = ReadPreference.valueOf(readRoutingPreference, List.of(),
+                readRoutingMaxStaleness.toSeconds(), TimeUnit.SECONDS);
+        return new ReadRoutingMongoDatabaseFactory(factory, secondary);
+    }
+
+    // Infrastructure role so the auto-proxy creator registered by @EnableCaching applies it as well
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor readFromSecondaryAdvisor() {
+        return ReadRouting.advisor();
+    }
+
+    private MongoDatabaseFactory tenantDatabaseFactory(TenantProperties tenantProperties) {
+        MongoDatabaseFactory defaultFactory = new SimpleMongoClientDatabaseFactory(mongoClient(), "library");
+        if (!tenantProperties.isEnabled() || tenantProperties.getBranches().isEmpty()) {
+            return defaultFactory;
+        }
+
+        // One pooled client per cluster, shared by every branch that lives on it
+        Map<String, MongoClient> clients = new HashMap<>();
+        Map<String, MongoDatabaseFactory> branchFactories = new HashMap<>();
+        tenantProperties.getBranches().forEach((branch, target) -> {
+            MongoClient client = target.getUri() == null || target.getUri().isBlank() || target.getUri().equals(mongoUri)
+                    ? mongoClient()
+                    : clients.computeIfAbsent(target.getUri(), this::createClient);
+            String database = target.getDatabase() == null || target.getDatabase().isBlank()
+                    ? "library_" + branch
+                    : target.getDatabase();
+            branchFactories.put(branch, new SimpleMongoClientDatabaseFactory(client, database));
+        });
+        return new TenantRoutingMongoDatabaseFactory(defaultFactory, branchFactories, new ArrayList<>(clients.values()));
     }
 
     @Bean
     @Primary
-    public MongoTemplate mongoTemplate() {
-        return new MongoTemplate(mongoClient(), "library");
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTemplate(mongoDatabaseFactory);
+    }
+
+    private MongoClient createClient(String uri) {
+        MongoClientSettings.Builder settings = clientSettings(new ConnectionString(uri), clientProperties)
+                .applyToConnectionPoolSettings(pool -> pool
+                        .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry))
+                        .addConnectionPoolListener(new CheckoutWaitListener(meterRegistry)))
+                // Per-command latency as mongodb.driver.commands, tagged by command and collection
+                .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
+                .addCommandListener(new ServerTimingCommandListener());
+        SlowQueryListener slowQueries = slowQueriesEnabled ? new SlowQueryListener(slowQueryLog) : null;
+        if (slowQueries != null) {
+            settings.addCommandListener(slowQueries);
+        }
+        MongoClient client = MongoClients.create(settings.build());
+        if (slowQueries != null) {
+            slowQueries.explainWith(client);
+        }
+        return client;
+    }
+
+    // Options given in the connection string win; the client properties only fill in the ones it leaves out
+    static MongoClientSettings.Builder clientSettings(ConnectionString uri, MongoClientProperties properties) {
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(uri)
+                .applyToConnectionPoolSettings(pool -> {
+                    ifUnset(uri.getMinConnectionPoolSize(), () -> pool.minSize(properties.getMinPoolSize()));
+                    ifUnset(uri.getMaxConnectionPoolSize(), () -> pool.maxSize(properties.getMaxPoolSize()));
+                    ifUnset(uri.getMaxWaitTime(), () -> pool.maxWaitTime(properties.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS));
+                    ifUnset(uri.getMaxConnectionIdleTime(), () -> pool.maxConnectionIdleTime(
+                            properties.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS));
+                    ifUnset(uri.getMaxConnectionLifeTime(), () -> pool.maxConnectionLifeTime(
+                            properties.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS));
+                    ifUnset(uri.getMaxConnecting(), () -> pool.maxConnecting(properties.getMaxConnecting()));
+                })
+                .applyToSocketSettings(socket -> {
+                    ifUnset(uri.getConnectTimeout(), () -> socket.connectTimeout(
+                            (int) properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS));
+                    ifUnset(uri.getSocketTimeout(), () -> socket.readTimeout(
+                            (int) properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS));
+                })
+                .applyToClusterSettings(cluster -> ifUnset(uri.getServerSelectionTimeout(), () -> cluster
+                        .serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+        List<MongoCompressor> compressors = compressors(properties.getCompressors());
+        if (uri.getCompressorList().isEmpty() && !compressors.isEmpty()) {
+            settings.compressorList(compressors);
+        }
+        return settings;
+    }
+
+    private static void ifUnset(Object uriOption, Runnable apply) {
+        if (uriOption == null) {
+            apply.run();
+        }
+    }
+
+    static List<MongoCompressor> compressors(List<String> names) {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String name : names) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "" -> {
+                }
+                case "zstd" -> compressors.add(MongoCompressor.createZstdCompressor());
+                case "snappy" -> compressors.add(MongoCompressor.createSnappyCompressor());
+                case "zlib" -> compressors.add(MongoCompressor.createZlibCompressor());
+                default -> throw new IllegalStateException("Unsupported MongoDB compressor: " + name);
+            }
+        }
+        return compressors;
+    }
+
+    // Multi-document transactions need a replica set; when enabled, @Transactional service methods
+    // commit the loan, book and outbox writes together. Every other loan event listener runs after commit
+    // so that its own writes neither conflict with nor abort the checkout
+    @Bean
+    @ConditionalOnProperty(name = "library.mongodb.transactions.enabled", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
     }
 }
@@ -0,0 +1,33 @@
+package com.librarysystem.config;
+
+import com.librarysystem.web.EndpointGroup;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "library.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // Clients sending one of the configured keys in this header are limited per key, everyone else
+    // (including clients sending an unknown key) per IP address
+    private String apiKeyHeader = "X-API-Key";
+    private List<String> apiKeys = new ArrayList<>();
+    // Share buckets across instances through Redis instead of the in-process table
+    private boolean redisEnabled = false;
+    private int stripes = 64;
+    private int maxBucketsPerStripe = 4096;
+    // Groups without an entry are not limited
+    private Map<EndpointGroup, Limit> groups = new EnumMap<>(EndpointGroup.class);
+
+    @Data
+    public static class Limit {
+        private long capacity;
+        private double refillPerSecond;
+    }
+}
@@ -1,20 +1,76 @@
 package com.librarysystem.config;
 
+import com.librarysystem.cache.BatchCacheLoader;
+import com.librarysystem.cache.CacheWarmStart;
+import com.librarysystem.cache.CoalescingCacheManager;
+import com.librarysystem.cache.CompactRedisSerializer;
+import com.librarysystem.cache.HotKeyTracker;
+import com.librarysystem.cache.RedisLoadLock;
+import com.librarysystem.model.AccountSummary;
+import com.librarysystem.model.Author;
+import com.librarysystem.model.Book;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.Loan;
+import com.librarysystem.repository.AuthorRepository;
+import com.librarysystem.repository.BorrowerRepository;
+import com.librarysystem.repository.LoanRepository;
+import com.librarysystem.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Configuration
 public class RedisConfig {
 
+    // Value type held by each cache that can be switched to the compact binary codec
+    private static final Map<String, Class<?>> CACHE_VALUE_TYPES = Map.of(
+            "authors", Author.class,
+            "borrowers", Borrower.class,
+            "loans", Loan.class,
+            "borrowerSummaries", AccountSummary.class,
+            "bookSearches", Book.class,
+            "authorSearches", Author.class,
+            "borrowerSearches", Borrower.class);
+
+    @Value("${library.cache.binary-caches:}")
+    private List<String> binaryCaches;
+
+    @Value("${library.cache.compression-threshold:512}")
+    private int compressionThreshold;
+
+    @Value("${library.cache.distributed-lock.enabled:false}")
+    private boolean distributedLockEnabled;
+
+    @Value("${library.cache.distributed-lock.lease-time:3s}")
+    private Duration distributedLockLeaseTime;
+
+    @Value("${library.cache.distributed-lock.wait-time:2s}")
+    private Duration distributedLockWaitTime;
+
+    @Value("${library.cache.warm-start.caches:authors,borrowers,loans}")
+    private List<String> warmStartCaches;
+
+    @Value("${library.cache.warm-start.keys-per-cache:5000}")
+    private int warmStartKeysPerCache;
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -33,16 +89,80 @@ public class RedisConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
-                .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                        .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    @Bean
+    public HotKeyTracker hotKeyTracker() {
+        // Track a few times more keys than are snapshotted so the counts can settle
+        return new HotKeyTracker(warmStartCaches, warmStartKeysPerCache * 4);
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, StringRedisTemplate stringRedisTemplate,
+                                     HotKeyTracker hotKeyTracker) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaultCacheConfiguration())
+                .withInitialCacheConfigurations(cacheConfigurations())
                 .build();
+        redisCacheManager.initializeCaches();
+
+        // Concurrent misses on the same key share one load instead of all hitting MongoDB
+        RedisLoadLock loadLock = distributedLockEnabled
+                ? new RedisLoadLock(stringRedisTemplate, distributedLockLeaseTime, distributedLockWaitTime)
+                : null;
+        return new CoalescingCacheManager(redisCacheManager, loadLock, hotKeyTracker);
+    }
+
+    @Bean
+    public BatchCacheLoader batchCacheLoader(RedisConnectionFactory connectionFactory) {
+        Map<String, RedisCacheConfiguration> configurations = cacheConfigurations();
+        RedisCacheConfiguration defaults = defaultCacheConfiguration();
+        return new BatchCacheLoader(connectionFactory, cacheName -> configurations.getOrDefault(cacheName, defaults));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.cache.warm-start.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheWarmStart cacheWarmStart(RedisConnectionFactory connectionFactory, CacheManager cacheManager, HotKeyTracker hotKeyTracker,
+                                         AuthorRepository authorRepository, BorrowerRepository borrowerRepository,
+                                         LoanRepository loanRepository,
+                                         @Value("${library.cache.warm-start.file:cache-snapshot/warm-start.bin}") String file,
+                                         @Value("${library.cache.warm-start.refresh-per-second:200}") int refreshPerSecond,
+                                         @Value("${library.cache.warm-start.max-age:10m}") Duration maxAge) {
+        Map<String, Function<String, Object>> loaders = Map.of(
+                "authors", id -> authorRepository.findById(id).orElse(null),
+                "borrowers", id -> borrowerRepository.findById(id).orElse(null),
+                "loans", id -> loanRepository.findById(id).orElse(null));
+        Map<String, RedisCacheConfiguration> configurations = cacheConfigurations();
+        RedisCacheConfiguration defaults = defaultCacheConfiguration();
+        return new CacheWarmStart(connectionFactory, cacheName -> configurations.getOrDefault(cacheName, defaults), cacheManager,
+                hotKeyTracker, loaders, Path.of(file), warmStartKeysPerCache, refreshPerSecond, maxAge);
+    }
+
+    private RedisCacheConfiguration defaultCacheConfiguration() {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(10))
+                // Resolved per operation, so each library branch gets its own key namespace
+                .computePrefixWith(cacheName -> TenantContext.redisNamespace() + CacheKeyPrefix.simple().compute(cacheName))
+                .serializeKeysWith(SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+    }
+
+    private Map<String, RedisCacheConfiguration> cacheConfigurations() {
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        for (String cacheName : binaryCaches) {
+            if (cacheName.isBlank()) {
+                continue;
+            }
+            Class<?> valueType = CACHE_VALUE_TYPES.get(cacheName.trim());
+            if (valueType == null) {
+                throw new IllegalStateException("No value type registered for binary cache: " + cacheName);
+            }
+            configurations.put(cacheName.trim(), defaultCacheConfiguration()
+                    .serializeValuesWith(SerializationPair.fromSerializer(
+                            new CompactRedisSerializer(valueType, compressionThreshold))));
+        }
+        return configurations;
     }
 }
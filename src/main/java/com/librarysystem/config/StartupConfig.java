@@ -0,0 +1,28 @@
+package com.librarysystem.config;
+
+import com.librarysystem.startup.LazyBeanFactoryPostProcessor;
+import com.librarysystem.startup.StartupTimingReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+public class StartupConfig {
+
+    // Static so it runs before the other bean definitions are instantiated
+    @Bean
+    @ConditionalOnProperty(name = "library.startup.lazy-bean-prefixes")
+    public static LazyBeanFactoryPostProcessor lazyBeanFactoryPostProcessor(Environment environment) {
+        return new LazyBeanFactoryPostProcessor(List.of(environment.getRequiredProperty("library.startup.lazy-bean-prefixes", String[].class)));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.startup.report.enabled", havingValue = "true", matchIfMissing = true)
+    public StartupTimingReport startupTimingReport(@Value("${library.startup.report.slowest-steps:10}") int slowestSteps) {
+        return new StartupTimingReport(slowestSteps);
+    }
+}
@@ -0,0 +1,41 @@
+package com.librarysystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "library.tenants")
+public class TenantProperties {
+
+    private boolean enabled = false;
+    private String header = "X-Library-Branch";
+    // Requests without the header, or naming this branch, use the original database and cache keys
+    private String defaultBranch = "main";
+    private Map<String, Branch> branches = new LinkedHashMap<>();
+
+    /**
+     * Every branch with a database of its own, for work that has to visit each of them. The
+     * default branch comes first, as null, matching an unset {@code TenantContext}.
+     */
+    public List<String> databaseBranches() {
+        List<String> all = new ArrayList<>();
+        all.add(null);
+        if (enabled) {
+            all.addAll(branches.keySet());
+        }
+        return all;
+    }
+
+    @Data
+    public static class Branch {
+        // Cluster holding the branch; the main cluster when empty
+        private String uri;
+        // Database name; library_<branch> when empty
+        private String database;
+    }
+}
@@ -0,0 +1,166 @@
+package com.librarysystem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.timing.ServerTimingFilter;
+import com.librarysystem.timing.TimedJsonConverter;
+import com.librarysystem.web.Bulkhead;
+import com.librarysystem.web.BulkheadFilter;
+import com.librarysystem.web.ConcurrencyLimitFilter;
+import com.librarysystem.web.ConcurrencyLimiter;
+import com.librarysystem.web.EndpointClassifier;
+import com.librarysystem.web.EndpointGroup;
+import com.librarysystem.web.IdempotencyFilter;
+import com.librarysystem.web.RateLimitFilter;
+import com.librarysystem.web.RateLimiter;
+import com.librarysystem.web.RedisIdempotencyStore;
+import com.librarysystem.web.RedisRateLimiter;
+import com.librarysystem.web.TenantFilter;
+import com.librarysystem.web.TokenBucketTable;
+import com.librarysystem.web.VegasLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties({EndpointGroupProperties.class, RateLimitProperties.class, ConcurrencyLimitProperties.class,
+        BulkheadProperties.class, TenantProperties.class, IdempotencyProperties.class})
+public class WebConfig {
+
+    // Filters run in this order: timing around everything, then cheapest rejection first once the branch is known
+    private static final int SERVER_TIMING_ORDER = Ordered.HIGHEST_PRECEDENCE;
+    private static final int TENANT_ORDER = SERVER_TIMING_ORDER + 5;
+    private static final int RATE_LIMIT_ORDER = TENANT_ORDER + 10;
+    // Retries are rate limited, but replays do not take bulkhead or concurrency slots
+    private static final int IDEMPOTENCY_ORDER = RATE_LIMIT_ORDER + 5;
+    private static final int BULKHEAD_ORDER = RATE_LIMIT_ORDER + 10;
+    private static final int CONCURRENCY_LIMIT_ORDER = BULKHEAD_ORDER + 10;
+
+    @Value("${library.server-timing.enabled:true}")
+    private boolean serverTimingEnabled;
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${library.server-timing.request-header:X-Server-Timing}") String requestHeader) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter(requestHeader));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SERVER_TIMING_ORDER);
+        registration.setEnabled(serverTimingEnabled);
+        return registration;
+    }
+
+    // Replaces Spring Boot's JSON converter, which backs off when one of its type is defined
+    @Bean
+    @ConditionalOnProperty(name = "library.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+    public TimedJsonConverter timedJsonConverter(ObjectMapper objectMapper) {
+        return new TimedJsonConverter(objectMapper);
+    }
+
+    @Bean
+    public EndpointClassifier endpointClassifier(EndpointGroupProperties properties) {
+        return new EndpointClassifier(properties.getPatterns());
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(TenantProperties properties, ObjectMapper objectMapper) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(properties.getHeader(),
+                properties.getDefaultBranch(), properties.getBranches().keySet(), objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(TENANT_ORDER);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, StringRedisTemplate stringRedisTemplate) {
+        RateLimiter local = new TokenBucketTable(properties.getStripes(), properties.getMaxBucketsPerStripe());
+        return properties.isRedisEnabled() ? new RedisRateLimiter(stringRedisTemplate, local) : local;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(EndpointClassifier endpointClassifier, RateLimiter rateLimiter,
+                                                                   RateLimitProperties properties, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(endpointClassifier, rateLimiter, properties, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(RATE_LIMIT_ORDER);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyProperties properties,
+                                                                       StringRedisTemplate stringRedisTemplate,
+                                                                       ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                new RedisIdempotencyStore(stringRedisTemplate, objectMapper), properties, objectMapper));
+        // Loan mutations: create, return, renew and delete
+        registration.addUrlPatterns("/api/loans/*");
+        registration.setOrder(IDEMPOTENCY_ORDER);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        VegasLimit limit = new VegasLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getSmoothing(), properties.getProbeMultiplier());
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limit, properties.getNormalShare(), properties.getSheddableShare());
+        Gauge.builder("library.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("library.concurrency.in-flight", limiter, ConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(EndpointClassifier endpointClassifier,
+                                                                                 ConcurrencyLimiter concurrencyLimiter,
+                                                                                 ConcurrencyLimitProperties properties,
+                                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(endpointClassifier, concurrencyLimiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(CONCURRENCY_LIMIT_ORDER);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(EndpointClassifier endpointClassifier, BulkheadProperties properties,
+                                                                 MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+        properties.getGroups().forEach((group, limits) -> {
+            String name = group.name().toLowerCase();
+            Bulkhead bulkhead = new Bulkhead(name, limits.getMaxConcurrent(), limits.getMaxQueue(), limits.getMaxWait());
+            Tags tags = Tags.of("group", name);
+            Gauge.builder("library.bulkhead.queue-depth", bulkhead, Bulkhead::getQueueDepth)
+                    .description("Requests waiting for a bulkhead permit")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("library.bulkhead.active", bulkhead, Bulkhead::getActive)
+                    .description("Requests running inside the bulkhead")
+                    .tags(tags)
+                    .register(meterRegistry);
+            bulkheads.put(group, bulkhead);
+        });
+
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(
+                new BulkheadFilter(endpointClassifier, bulkheads, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(BULKHEAD_ORDER);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
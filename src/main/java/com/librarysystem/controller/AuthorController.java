@@ -1,6 +1,7 @@
 package com.librarysystem.controller;
 
 import com.librarysystem.model.Author;
+import com.librarysystem.service.AuthorMatchService;
 import com.librarysystem.service.AuthorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,10 +22,12 @@ import java.util.List;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final AuthorMatchService authorMatchService;
 
     @Autowired
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, AuthorMatchService authorMatchService) {
         this.authorService = authorService;
+        this.authorMatchService = authorMatchService;
     }
 
     @GetMapping
@@ -48,6 +51,17 @@ public class AuthorController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get authors by IDs", description = "Retrieve up to 5000 authors in one request; unknown IDs are skipped")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Authors retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs requested")
+    })
+    public ResponseEntity<List<Author>> getAuthorsByIds(@RequestBody List<String> ids) {
+        List<Author> authors = authorService.findAllByIds(ids);
+        return ResponseEntity.ok(authors);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new author", description = "Add a new author to the system")
     @ApiResponses({
@@ -122,6 +136,21 @@ public class AuthorController {
         return ResponseEntity.ok(authors);
     }
 
+    @GetMapping("/search/fuzzy")
+    @Operation(summary = "Fuzzy search authors by name",
+               description = "Find authors whose full, first or last name is within a few edits of the given name, closest first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching authors returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid distance or limit")
+    })
+    public ResponseEntity<List<Author>> searchAuthorsFuzzy(
+            @Parameter(description = "Possibly misspelled name", required = true) @RequestParam String name,
+            @Parameter(description = "Maximum edit distance (0-3, defaults to 1 for short names and 2 otherwise)") @RequestParam(required = false) Integer maxDistance,
+            @Parameter(description = "Maximum number of authors (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        List<Author> authors = authorMatchService.findFuzzy(name, maxDistance, limit);
+        return ResponseEntity.ok(authors);
+    }
+
     @GetMapping("/nationality/{nationality}")
     @Operation(summary = "Get authors by nationality", description = "Retrieve all authors from a specific nationality")
     public ResponseEntity<List<Author>> getAuthorsByNationality(
@@ -1,6 +1,8 @@
 package com.librarysystem.controller;
 
 import com.librarysystem.model.Book;
+import com.librarysystem.model.BookReach;
+import com.librarysystem.service.BookReachService;
 import com.librarysystem.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,10 +23,12 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookReachService bookReachService;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookReachService bookReachService) {
         this.bookService = bookService;
+        this.bookReachService = bookReachService;
     }
 
     @GetMapping
@@ -48,6 +52,17 @@ public class BookController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get books by IDs", description = "Retrieve up to 5000 books in one request; unknown IDs are skipped")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs requested")
+    })
+    public ResponseEntity<List<Book>> getBooksByIds(@RequestBody List<String> ids) {
+        List<Book> books = bookService.findAllByIds(ids);
+        return ResponseEntity.ok(books);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new book", description = "Add a new book to the library")
     @ApiResponses({
@@ -136,4 +151,17 @@ public class BookController {
         boolean isAvailable = bookService.isBookAvailable(id);
         return ResponseEntity.ok(isAvailable);
     }
+
+    @GetMapping("/{id}/reach")
+    @Operation(summary = "Get book reach", description = "Approximate number of distinct borrowers of a book over the last N days (about 1% error)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Reach computed"),
+        @ApiResponse(responseCode = "400", description = "Invalid number of days")
+    })
+    public ResponseEntity<BookReach> getBookReach(
+            @Parameter(description = "Book ID", required = true) @PathVariable String id,
+            @Parameter(description = "Number of days (1-365)") @RequestParam(defaultValue = "30") int days) {
+        BookReach reach = bookReachService.getReach(id, days);
+        return ResponseEntity.ok(reach);
+    }
 }
@@ -1,6 +1,8 @@
 package com.librarysystem.controller;
 
+import com.librarysystem.model.AccountSummary;
 import com.librarysystem.model.Borrower;
+import com.librarysystem.service.AccountSummaryService;
 import com.librarysystem.service.BorrowerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,10 +23,12 @@ import java.util.List;
 public class BorrowerController {
 
     private final BorrowerService borrowerService;
+    private final AccountSummaryService accountSummaryService;
 
     @Autowired
-    public BorrowerController(BorrowerService borrowerService) {
+    public BorrowerController(BorrowerService borrowerService, AccountSummaryService accountSummaryService) {
         this.borrowerService = borrowerService;
+        this.accountSummaryService = accountSummaryService;
     }
 
     @GetMapping
@@ -48,6 +52,31 @@ public class BorrowerController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Get borrower account summary",
+               description = "Retrieve the profile, active and overdue loans, total fines and remaining loan quota in one request")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Summary found"),
+        @ApiResponse(responseCode = "404", description = "Borrower not found")
+    })
+    public ResponseEntity<AccountSummary> getAccountSummary(
+            @Parameter(description = "Borrower ID", required = true) @PathVariable String id) {
+        return accountSummaryService.getSummary(id)
+                .map(summary -> ResponseEntity.ok(summary))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get borrowers by IDs", description = "Retrieve up to 5000 borrowers in one request; unknown IDs are skipped")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Borrowers retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs requested")
+    })
+    public ResponseEntity<List<Borrower>> getBorrowersByIds(@RequestBody List<String> ids) {
+        List<Borrower> borrowers = borrowerService.findAllByIds(ids);
+        return ResponseEntity.ok(borrowers);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new borrower", description = "Register a new borrower in the system")
     @ApiResponses({
@@ -128,6 +157,16 @@ public class BorrowerController {
         return ResponseEntity.ok(borrowers);
     }
 
+    @GetMapping("/search/phonetic")
+    @Operation(summary = "Search borrowers by how the name sounds",
+               description = "Find borrowers whose first and last name words sound like every word given (Double Metaphone), e.g. 'Jon Smyth' finds 'John Smith'")
+    public ResponseEntity<List<Borrower>> searchBorrowersPhonetic(
+            @Parameter(description = "Name as heard", required = true) @RequestParam String name,
+            @Parameter(description = "Maximum number of borrowers (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        List<Borrower> borrowers = borrowerService.searchPhonetic(name, limit);
+        return ResponseEntity.ok(borrowers);
+    }
+
     @GetMapping("/city/{city}")
     @Operation(summary = "Get borrowers by city", description = "Retrieve all borrowers from a specific city")
     public ResponseEntity<List<Borrower>> getBorrowersByCity(
@@ -1,7 +1,12 @@
 package com.librarysystem.controller;
 
+import com.librarysystem.exception.GlobalExceptionHandler;
 import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanEventRecord;
+import com.librarysystem.model.LoanView;
+import com.librarysystem.service.LoanEventLogService;
 import com.librarysystem.service.LoanService;
+import com.librarysystem.web.IdempotencyFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -21,18 +26,21 @@ import java.util.List;
 public class LoanController {
 
     private final LoanService loanService;
+    private final LoanEventLogService loanEventLogService;
 
     @Autowired
-    public LoanController(LoanService loanService) {
+    public LoanController(LoanService loanService, LoanEventLogService loanEventLogService) {
         this.loanService = loanService;
+        this.loanEventLogService = loanEventLogService;
     }
 
     @GetMapping
     @Operation(summary = "Get all loans", description = "Retrieve a list of all loans")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved loans")
-    public ResponseEntity<List<Loan>> getAllLoans() {
+    public ResponseEntity<List<LoanView>> getAllLoans(
+            @Parameter(description = "Related entities to embed in each loan: book, borrower") @RequestParam(required = false) List<String> expand) {
         List<Loan> loans = loanService.findAll();
-        return ResponseEntity.ok(loans);
+        return respond(loans, expand);
     }
 
     @GetMapping("/{id}")
@@ -48,6 +56,30 @@ public class LoanController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get loan history", description = "Retrieve every recorded lifecycle event of a loan in the order it happened")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved loan history")
+    public ResponseEntity<List<LoanEventRecord>> getLoanHistory(
+            @Parameter(description = "Loan ID", required = true) @PathVariable String id) {
+        List<LoanEventRecord> events = loanEventLogService.findByLoanId(id);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/events")
+    @Operation(summary = "Replay loan events",
+               description = "Page through the loan event log in sequence order; pass the sequence of the last event received as 'after' to continue. "
+                       + "Events appear a few seconds after they happened")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved events"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<List<LoanEventRecord>> getLoanEvents(
+            @Parameter(description = "Return events with a sequence greater than this") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of events (1-1000)") @RequestParam(defaultValue = "500") int limit) {
+        List<LoanEventRecord> events = loanEventLogService.findAfter(after, limit);
+        return ResponseEntity.ok(events);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new loan", description = "Create a new book loan")
     @ApiResponses({
@@ -57,11 +89,13 @@ public class LoanController {
     public ResponseEntity<?> createLoan(
             @Parameter(description = "Book ID", required = true) @RequestParam String bookId,
             @Parameter(description = "Borrower ID", required = true) @RequestParam String borrowerId,
-            @Parameter(description = "Due date (optional, defaults to 14 days from now)") @RequestParam(required = false) LocalDate dueDate) {
+            @Parameter(description = "Due date (optional, defaults to 14 days from now)") @RequestParam(required = false) LocalDate dueDate,
+            @Parameter(hidden = true) @RequestAttribute(name = IdempotencyFilter.KEY_ATTRIBUTE, required = false) String idempotencyKey) {
         try {
-            Loan loan = loanService.createLoan(bookId, borrowerId, dueDate);
+            Loan loan = loanService.createLoan(bookId, borrowerId, dueDate, idempotencyKey);
             return ResponseEntity.status(HttpStatus.CREATED).body(loan);
         } catch (RuntimeException e) {
+            GlobalExceptionHandler.rethrowIfTransient(e);
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -79,6 +113,7 @@ public class LoanController {
             Loan loan = loanService.returnBook(id);
             return ResponseEntity.ok(loan);
         } catch (RuntimeException e) {
+            GlobalExceptionHandler.rethrowIfTransient(e);
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -97,6 +132,7 @@ public class LoanController {
             Loan loan = loanService.renewLoan(id, newDueDate);
             return ResponseEntity.ok(loan);
         } catch (RuntimeException e) {
+            GlobalExceptionHandler.rethrowIfTransient(e);
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -113,47 +149,53 @@ public class LoanController {
             loanService.deleteById(id);
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
+            GlobalExceptionHandler.rethrowIfTransient(e);
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/borrower/{borrowerId}")
     @Operation(summary = "Get loans by borrower", description = "Retrieve all loans for a specific borrower")
-    public ResponseEntity<List<Loan>> getLoansByBorrower(
-            @Parameter(description = "Borrower ID", required = true) @PathVariable String borrowerId) {
+    public ResponseEntity<List<LoanView>> getLoansByBorrower(
+            @Parameter(description = "Borrower ID", required = true) @PathVariable String borrowerId,
+            @Parameter(description = "Related entities to embed in each loan: book, borrower") @RequestParam(required = false) List<String> expand) {
         List<Loan> loans = loanService.findByBorrower(borrowerId);
-        return ResponseEntity.ok(loans);
+        return respond(loans, expand);
     }
 
     @GetMapping("/borrower/{borrowerId}/active")
     @Operation(summary = "Get active loans by borrower", description = "Retrieve all active loans for a specific borrower")
-    public ResponseEntity<List<Loan>> getActiveLoansByBorrower(
-            @Parameter(description = "Borrower ID", required = true) @PathVariable String borrowerId) {
+    public ResponseEntity<List<LoanView>> getActiveLoansByBorrower(
+            @Parameter(description = "Borrower ID", required = true) @PathVariable String borrowerId,
+            @Parameter(description = "Related entities to embed in each loan: book, borrower") @RequestParam(required = false) List<String> expand) {
         List<Loan> loans = loanService.findActiveByBorrower(borrowerId);
-        return ResponseEntity.ok(loans);
+        return respond(loans, expand);
     }
 
     @GetMapping("/book/{bookId}")
     @Operation(summary = "Get loans by book", description = "Retrieve all loans for a specific book")
-    public ResponseEntity<List<Loan>> getLoansByBook(
-            @Parameter(description = "Book ID", required = true) @PathVariable String bookId) {
+    public ResponseEntity<List<LoanView>> getLoansByBook(
+            @Parameter(description = "Book ID", required = true) @PathVariable String bookId,
+            @Parameter(description = "Related entities to embed in each loan: book, borrower") @RequestParam(required = false) List<String> expand) {
         List<Loan> loans = loanService.findByBook(bookId);
-        return ResponseEntity.ok(loans);
+        return respond(loans, expand);
     }
 
     @GetMapping("/overdue")
     @Operation(summary = "Get overdue loans", description = "Retrieve all overdue loans")
-    public ResponseEntity<List<Loan>> getOverdueLoans() {
+    public ResponseEntity<List<LoanView>> getOverdueLoans(
+            @Parameter(description = "Related entities to embed in each loan: book, borrower") @RequestParam(required = false) List<String> expand) {
         List<Loan> loans = loanService.findOverdueLoans();
-        return ResponseEntity.ok(loans);
+        return respond(loans, expand);
     }
 
     @GetMapping("/due-soon")
     @Operation(summary = "Get loans due soon", description = "Retrieve loans that are due within a specified number of days")
-    public ResponseEntity<List<Loan>> getLoansDueSoon(
-            @Parameter(description = "Number of days", required = true) @RequestParam int days) {
+    public ResponseEntity<List<LoanView>> getLoansDueSoon(
+            @Parameter(description = "Number of days", required = true) @RequestParam int days,
+            @Parameter(description = "Related entities to embed in each loan: book, borrower") @RequestParam(required = false) List<String> expand) {
         List<Loan> loans = loanService.findLoansDueSoon(days);
-        return ResponseEntity.ok(loans);
+        return respond(loans, expand);
     }
 
     @GetMapping("/borrower/{borrowerId}/count")
@@ -171,4 +213,9 @@ public class LoanController {
         boolean canBorrow = loanService.canBorrowMore(borrowerId);
         return ResponseEntity.ok(canBorrow);
     }
+
+    private ResponseEntity<List<LoanView>> respond(List<Loan> loans, List<String> expand) {
+        // Without expand the views hold only the loan, so they serialize exactly like the plain loans
+        return ResponseEntity.ok(loanService.expand(loans, expand == null ? List.of() : expand));
+    }
 }
@@ -0,0 +1,93 @@
+package com.librarysystem.controller;
+
+import com.librarysystem.model.CirculationRollup;
+import com.librarysystem.model.LeaderboardEntry;
+import com.librarysystem.service.CirculationStatsService;
+import com.librarysystem.service.LeaderboardService;
+import com.librarysystem.service.LeaderboardService.Period;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stats")
+@Tag(name = "Statistics", description = "Circulation statistics and reports")
+public class StatsController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final CirculationStatsService circulationStatsService;
+    private final LeaderboardService leaderboardService;
+
+    @Autowired
+    public StatsController(CirculationStatsService circulationStatsService, LeaderboardService leaderboardService) {
+        this.circulationStatsService = circulationStatsService;
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/circulation")
+    @Operation(summary = "Get circulation statistics",
+               description = "Retrieve daily rollups of loans, returns, renewals and late returns by genre (defaults to the last 30 days)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<CirculationRollup>> getCirculationStats(
+            @Parameter(description = "Start date (ISO, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (ISO, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        List<CirculationRollup> rollups = circulationStatsService.findRollups(start, end);
+        return ResponseEntity.ok(rollups);
+    }
+
+    @PostMapping("/circulation/rebuild")
+    @Operation(summary = "Rebuild circulation statistics", description = "Recompute the daily rollups for a date range from the loan history")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Rollups rebuilt successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<CirculationRollup>> rebuildCirculationStats(
+            @Parameter(description = "Start date (ISO, inclusive)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (ISO, inclusive)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<CirculationRollup> rollups = circulationStatsService.rebuild(from, to);
+        return ResponseEntity.ok(rollups);
+    }
+
+    @GetMapping("/top-books")
+    @Operation(summary = "Get most borrowed books", description = "Retrieve the most borrowed book IDs with loan counts for a day, week or month")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid period or limit")
+    })
+    public ResponseEntity<List<LeaderboardEntry>> getTopBooks(
+            @Parameter(description = "Period: day, week or month") @RequestParam(defaultValue = "day") String period,
+            @Parameter(description = "Any date within the period (ISO, defaults to today)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Number of entries (1-100)") @RequestParam(defaultValue = "10") int limit) {
+        List<LeaderboardEntry> entries = leaderboardService.topBooks(Period.parse(period), date != null ? date : LocalDate.now(), limit);
+        return ResponseEntity.ok(entries);
+    }
+
+    @GetMapping("/top-genres")
+    @Operation(summary = "Get most borrowed genres", description = "Retrieve the most borrowed genres with loan counts for a day, week or month")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid period or limit")
+    })
+    public ResponseEntity<List<LeaderboardEntry>> getTopGenres(
+            @Parameter(description = "Period: day, week or month") @RequestParam(defaultValue = "day") String period,
+            @Parameter(description = "Any date within the period (ISO, defaults to today)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Number of entries (1-100)") @RequestParam(defaultValue = "10") int limit) {
+        List<LeaderboardEntry> entries = leaderboardService.topGenres(Period.parse(period), date != null ? date : LocalDate.now(), limit);
+        return ResponseEntity.ok(entries);
+    }
+}
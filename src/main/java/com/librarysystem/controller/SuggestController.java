@@ -0,0 +1,45 @@
+package com.librarysystem.controller;
+
+import com.librarysystem.model.Suggestion;
+import com.librarysystem.service.SuggestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@Tag(name = "Suggestions", description = "Type-ahead suggestions for book titles and author names")
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    @Autowired
+    public SuggestController(SuggestService suggestService) {
+        this.suggestService = suggestService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Suggest titles and authors",
+               description = "Complete a prefix of any word of a book title or author name, most borrowed first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Suggestions returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    public ResponseEntity<List<Suggestion>> suggest(
+            @Parameter(description = "Prefix typed so far", required = true) @RequestParam String q,
+            @Parameter(description = "Restrict to BOOK or AUTHOR") @RequestParam(required = false) Suggestion.Type type,
+            @Parameter(description = "Maximum number of suggestions (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        List<Suggestion> suggestions = suggestService.suggest(q, type, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+}
@@ -0,0 +1,163 @@
+package com.librarysystem.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Group commit for append-only writes: items are queued by the caller and a single background
+ * thread hands them to the sink in batches of up to {@code batchSize}, or whatever arrived within
+ * {@code flushInterval} of the first item. When the queue is full or the writer is closed, the
+ * caller writes its item itself, so memory stays bounded.
+ * <p>
+ * A batch the sink rejects is retried by the background thread with exponential backoff, up to
+ * {@code maxAttempts} in total; meanwhile new items wait in the queue. Batches that still fail,
+ * and failed writes on the caller's thread (which are not retried, so callers never sleep), go to
+ * the fallback, so nothing is dropped unless the fallback fails as well.
+ */
+public class BatchingWriter<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingWriter.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+    private final Consumer<List<T>> sink;
+    private final Consumer<List<T>> fallback;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<T> queue;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public BatchingWriter(String name, Consumer<List<T>> sink, Consumer<List<T>> fallback, int batchSize,
+                          Duration flushInterval, int capacity, int maxAttempts, Duration initialBackoff) {
+        if (batchSize < 1 || capacity < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Batch size, capacity and attempts must be positive");
+        }
+        this.sink = sink;
+        this.fallback = fallback;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void submit(T item) {
+        if (running && queue.offer(item)) {
+            return;
+        }
+        writeOnce(List.of(item));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the worker did not get to before the deadline is written by the closing thread
+        List<T> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeOnce(remaining);
+        }
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeWithRetry(new ArrayList<>(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    writeOnce(new ArrayList<>(batch));
+                }
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(List<T> items) throws InterruptedException {
+        Duration backoff = initialBackoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.accept(items);
+                return;
+            } catch (RuntimeException e) {
+                // Shutting down: do not hold up close() with more backoff
+                if (attempt >= maxAttempts || !running) {
+                    log.error("Failed to write batch of {} item(s) after {} attempts: {}", items.size(), attempt, e.getMessage(), e);
+                    spill(items);
+                    return;
+                }
+                log.warn("Failed to write batch of {} item(s), attempt {} of {}, retrying in {} ms: {}",
+                        items.size(), attempt, maxAttempts, backoff.toMillis(), e.getMessage());
+            }
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                spill(items);
+                throw e;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        }
+    }
+
+    private void writeOnce(List<T> items) {
+        try {
+            sink.accept(items);
+        } catch (RuntimeException e) {
+            log.error("Failed to write batch of {} item(s): {}", items.size(), e.getMessage(), e);
+            spill(items);
+        }
+    }
+
+    private void spill(List<T> items) {
+        try {
+            fallback.accept(items);
+        } catch (RuntimeException e) {
+            log.error("Fallback failed, {} item(s) lost: {}", items.size(), e.getMessage(), e);
+        }
+    }
+}
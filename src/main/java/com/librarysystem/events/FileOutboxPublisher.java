@@ -0,0 +1,33 @@
+package com.librarysystem.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.model.OutboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Appends each message as one JSON line to a local file and forces it to disk before
+ * acknowledging the batch. Stand-in for a broker until one is wired in.
+ */
+@Component
+@ConditionalOnProperty(name = "library.outbox.publisher", havingValue = "file", matchIfMissing = true)
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final JsonLinesFile file;
+
+    @Autowired
+    public FileOutboxPublisher(ObjectMapper objectMapper,
+                               @Value("${library.outbox.file.path:outbox/loan-events.jsonl}") String path) {
+        this.file = new JsonLinesFile(objectMapper, Path.of(path));
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        file.append(messages);
+    }
+}
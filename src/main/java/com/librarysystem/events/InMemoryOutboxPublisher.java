@@ -0,0 +1,28 @@
+package com.librarysystem.events;
+
+import com.librarysystem.model.OutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "library.outbox.publisher", havingValue = "memory")
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        published.addAll(messages);
+    }
+
+    public synchronized List<OutboxMessage> getPublished() {
+        return new ArrayList<>(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+}
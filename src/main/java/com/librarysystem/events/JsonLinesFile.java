@@ -0,0 +1,104 @@
+package com.librarysystem.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file of one JSON document per line. Each append is forced to disk before it
+ * returns, so a line that was acknowledged survives a crash.
+ */
+public class JsonLinesFile {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonLinesFile.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public JsonLinesFile(ObjectMapper objectMapper, Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized void append(List<?> values) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (Object value : values) {
+                lines.append(objectMapper.writeValueAsString(value)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize line for " + path, e);
+        }
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to " + path, e);
+        }
+    }
+
+    /**
+     * Moves the lines appended so far aside and hands them to {@code importer}, deleting them once
+     * it returns; appends go to a fresh file meanwhile. If the importer throws, the same lines are
+     * handed over again on the next call, before anything appended since. Returns the number of
+     * values imported. Lines that cannot be read, such as one torn by a crash, are logged and skipped.
+     */
+    public <T> int importAll(Class<T> type, Consumer<List<T>> importer) {
+        Path importing = path.resolveSibling(path.getFileName() + ".importing");
+        try {
+            synchronized (this) {
+                if (!Files.exists(importing)) {
+                    if (!Files.exists(path)) {
+                        return 0;
+                    }
+                    Files.move(path, importing, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            List<T> values = new ArrayList<>();
+            for (String line : Files.readAllLines(importing, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    values.add(objectMapper.readValue(line, type));
+                } catch (JsonProcessingException e) {
+                    log.warn("Skipping unreadable line in {}: {}", importing, e.getOriginalMessage());
+                }
+            }
+            importer.accept(values);
+            Files.delete(importing);
+            return values.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not import " + importing, e);
+        }
+    }
+}
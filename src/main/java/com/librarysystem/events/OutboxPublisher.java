@@ -0,0 +1,15 @@
+package com.librarysystem.events;
+
+import com.librarysystem.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. A batch is handed over in outbox order and is only removed
+ * from the outbox once this returns, so an exception means the whole batch is delivered again.
+ */
+public interface OutboxPublisher {
+
+    void publish(List<OutboxMessage> messages);
+
+}
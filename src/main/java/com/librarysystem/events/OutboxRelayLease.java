@@ -0,0 +1,73 @@
+package com.librarysystem.events;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Lease that lets a single instance relay the outbox. It is a document next to the outbox, so every
+ * branch database has its own lease and no other store is needed. The holder keeps renewing it on
+ * each relay run; another instance takes over only once it has expired.
+ */
+@Component
+@ConditionalOnProperty(name = "library.outbox.enabled", havingValue = "true")
+public class OutboxRelayLease {
+
+    static final String COLLECTION = "outbox_lease";
+    private static final String LEASE_ID = "outbox-relay";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration leaseTime;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    public OutboxRelayLease(MongoTemplate mongoTemplate,
+                            @Value("${library.outbox.relay.lease-time:30s}") Duration leaseTime) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseTime = leaseTime;
+    }
+
+    /**
+     * Takes or renews the lease for the current branch database; false while another instance holds it.
+     */
+    public boolean tryAcquire() {
+        Instant now = Instant.now();
+        Query claimable = Query.query(Criteria.where("_id").is(LEASE_ID)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(Date.from(now))));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", Date.from(now.plus(leaseTime)));
+        try {
+            // A lease held by someone else does not match, so the upsert collides with it on _id
+            mongoTemplate.findAndModify(claimable, update, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives the lease up, e.g. on shutdown, so another instance does not wait for it to expire.
+     */
+    public void release() {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(LEASE_ID).and("owner").is(owner)), COLLECTION);
+    }
+
+    public Duration getLeaseTime() {
+        return leaseTime;
+    }
+}
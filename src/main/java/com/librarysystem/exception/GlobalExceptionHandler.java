@@ -1,5 +1,9 @@
 package com.librarysystem.exception;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -15,6 +19,32 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Database or cache failures that a retry may not hit again, e.g. timeouts and lost connections.
+     * Controllers that map their own exceptions to 400 rethrow these so clients see them as retryable.
+     */
+    public static void rethrowIfTransient(RuntimeException ex) {
+        if (ex instanceof TransientDataAccessException || ex instanceof DataAccessResourceFailureException
+                || ex instanceof RecoverableDataAccessException) {
+            throw ex;
+        }
+    }
+
+    @ExceptionHandler({TransientDataAccessException.class, DataAccessResourceFailureException.class,
+            RecoverableDataAccessException.class})
+    public ResponseEntity<ErrorResponse> handleTransientDataAccessException(RuntimeException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "A backing store is temporarily unavailable, please retry",
+            request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(errorResponse);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(
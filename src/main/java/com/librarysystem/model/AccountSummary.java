@@ -0,0 +1,19 @@
+package com.librarysystem.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AccountSummary {
+
+    private Borrower borrower;
+    private List<Loan> activeLoans;
+    private List<Loan> overdueLoans;
+    private long activeLoanCount;
+    // Fines are not marked as paid, so this is the sum over all the borrower's loans, returned ones included
+    private double totalFines;
+    private int remainingLoanQuota;
+    private boolean canBorrow;
+
+}
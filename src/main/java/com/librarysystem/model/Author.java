@@ -29,4 +29,11 @@ public class Author {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Not a bean property, so it is neither stored nor serialized
+    public String fullName() {
+        String first = firstName != null ? firstName : "";
+        String last = lastName != null ? lastName : "";
+        return (first + " " + last).trim();
+    }
+
 }
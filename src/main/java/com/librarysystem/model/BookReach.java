@@ -0,0 +1,19 @@
+package com.librarysystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookReach {
+
+    private String bookId;
+    private LocalDate from;
+    private LocalDate to;
+    private long uniqueReaders;
+
+}
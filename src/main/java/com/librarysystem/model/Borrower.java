@@ -1,5 +1,6 @@
 package com.librarysystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -10,6 +11,7 @@ import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Pattern;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Document(collection = "borrowers")
 public class Borrower {
@@ -53,6 +55,11 @@ public class Borrower {
     private LocalDate createdAt;
     private LocalDate updatedAt;
 
+    // Double Metaphone codes of the name words, maintained on every save for phonetic lookup
+    @JsonIgnore
+    @Indexed
+    private List<String> phoneticKeys;
+
     public Borrower() {
         this.createdAt = LocalDate.now();
         this.updatedAt = LocalDate.now();
@@ -165,6 +172,14 @@ public class Borrower {
         this.updatedAt = updatedAt;
     }
 
+    public List<String> getPhoneticKeys() {
+        return phoneticKeys;
+    }
+
+    public void setPhoneticKeys(List<String> phoneticKeys) {
+        this.phoneticKeys = phoneticKeys;
+    }
+
     public void updateTimestamp() {
         this.updatedAt = LocalDate.now();
     }
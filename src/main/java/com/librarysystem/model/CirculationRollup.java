@@ -0,0 +1,44 @@
+package com.librarysystem.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Document(collection = "circulation_rollups")
+@Data
+public class CirculationRollup {
+
+    // One document per day, keyed by its ISO date
+    @Id
+    private String id;
+    @Indexed
+    private LocalDate date;
+    private long loans;
+    private long returns;
+    private long lateReturns;
+    private long renewals;
+    private long overdueMarked;
+    private Map<String, GenreCounts> genres = new HashMap<>();
+    private LocalDateTime updatedAt;
+
+    public double getLateReturnRate() {
+        return returns == 0 ? 0.0 : (double) lateReturns / returns;
+    }
+
+    @Data
+    public static class GenreCounts {
+        private long loans;
+        private long returns;
+        private long lateReturns;
+
+        public double getLateReturnRate() {
+            return returns == 0 ? 0.0 : (double) lateReturns / returns;
+        }
+    }
+}
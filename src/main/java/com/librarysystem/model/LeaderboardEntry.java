@@ -0,0 +1,15 @@
+package com.librarysystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+
+    private String id;
+    private long count;
+
+}
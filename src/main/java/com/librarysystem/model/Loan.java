@@ -38,6 +38,10 @@ public class Loan {
 
     private String notes;
 
+    // Idempotency-Key of the checkout request; sparse so loans created without one do not collide
+    @Indexed(unique = true, sparse = true)
+    private String idempotencyKey;
+
     private LocalDate createdAt;
     private LocalDate updatedAt;
 
@@ -130,6 +134,14 @@ public class Loan {
         this.notes = notes;
     }
 
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     public LocalDate getCreatedAt() {
         return createdAt;
     }
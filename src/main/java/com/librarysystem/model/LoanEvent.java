@@ -0,0 +1,48 @@
+package com.librarysystem.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class LoanEvent {
+
+    private EventType type;
+    private String loanId;
+    private String bookId;
+    private String borrowerId;
+    private String genre;
+    private Loan.LoanStatus status;
+    private LocalDate loanDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+    private Double fineAmount;
+    private LocalDateTime occurredAt;
+
+    public enum EventType {
+        CREATED,
+        RETURNED,
+        RENEWED,
+        OVERDUE,
+        DELETED
+    }
+
+    public static LoanEvent of(EventType type, Loan loan, String genre) {
+        LoanEvent event = new LoanEvent();
+        event.setType(type);
+        event.setLoanId(loan.getId());
+        event.setBookId(loan.getBookId());
+        event.setBorrowerId(loan.getBorrowerId());
+        event.setGenre(genre);
+        event.setStatus(loan.getStatus());
+        event.setLoanDate(loan.getLoanDate());
+        event.setDueDate(loan.getDueDate());
+        event.setReturnDate(loan.getReturnDate());
+        event.setFineAmount(loan.getFineAmount());
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+}
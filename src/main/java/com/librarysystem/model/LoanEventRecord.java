@@ -0,0 +1,52 @@
+package com.librarysystem.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Document(collection = "loan_events")
+@Data
+@NoArgsConstructor
+public class LoanEventRecord {
+
+    // Assigned when the event is queued, so an insert that is retried cannot store it twice
+    @Id
+    private String id;
+    // Assigned right before the insert; readers page through the log in this order
+    @Indexed(unique = true)
+    private Long sequence;
+    private LocalDateTime recordedAt;
+    private LoanEvent.EventType type;
+    @Indexed
+    private String loanId;
+    private String bookId;
+    private String borrowerId;
+    private Loan.LoanStatus status;
+    private LocalDate loanDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+    private Double fineAmount;
+    private LocalDateTime occurredAt;
+
+    public static LoanEventRecord from(LoanEvent event) {
+        LoanEventRecord record = new LoanEventRecord();
+        record.setId(new ObjectId().toHexString());
+        record.setType(event.getType());
+        record.setLoanId(event.getLoanId());
+        record.setBookId(event.getBookId());
+        record.setBorrowerId(event.getBorrowerId());
+        record.setStatus(event.getStatus());
+        record.setLoanDate(event.getLoanDate());
+        record.setDueDate(event.getDueDate());
+        record.setReturnDate(event.getReturnDate());
+        record.setFineAmount(event.getFineAmount());
+        record.setOccurredAt(event.getOccurredAt());
+        return record;
+    }
+}
@@ -0,0 +1,22 @@
+package com.librarysystem.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanView {
+
+    @JsonUnwrapped
+    private Loan loan;
+    // Left out when not expanded or when the referenced entity no longer exists
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Book book;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Borrower borrower;
+
+}
@@ -0,0 +1,33 @@
+package com.librarysystem.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "outbox")
+@Data
+@NoArgsConstructor
+public class OutboxMessage {
+
+    // Time-ordered and stable across redeliveries, so consumers can use it to drop duplicates
+    @Id
+    private String id;
+    private String partitionKey;
+    private LoanEvent.EventType type;
+    private LoanEvent payload;
+    private LocalDateTime createdAt;
+
+    public static OutboxMessage of(LoanEvent event) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(new ObjectId().toHexString());
+        message.setPartitionKey(event.getBorrowerId());
+        message.setType(event.getType());
+        message.setPayload(event);
+        message.setCreatedAt(LocalDateTime.now());
+        return message;
+    }
+}
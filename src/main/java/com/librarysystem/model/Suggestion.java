@@ -0,0 +1,21 @@
+package com.librarysystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+
+    private Type type;
+    private String id;
+    private String text;
+    private double score;
+
+    public enum Type {
+        BOOK,
+        AUTHOR
+    }
+}
@@ -0,0 +1,43 @@
+package com.librarysystem.mongo;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times how long operations wait for a pooled connection. A growing wait with a full pool means the
+ * pool, not MongoDB itself, is what slows requests down.
+ */
+public class CheckoutWaitListener implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public CheckoutWaitListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        record(event.getConnectionId().getServerId(), "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        record(event.getServerId(), event.getReason().name().toLowerCase(Locale.ROOT), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(ServerId serverId, String outcome, long nanos) {
+        Timer.builder("library.mongodb.pool.checkout-wait")
+                .description("Time spent waiting for a pooled MongoDB connection")
+                .tag("server.address", serverId.getAddress().toString())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.librarysystem.mongo;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.List;
+
+/**
+ * Reduces a command to its shape: the collection, field names and operators with every literal
+ * replaced by {@code "?"}, so that the same query with different values groups together.
+ */
+final class QueryShapes {
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    // Parts of a command that describe the query; values of the others (sort, projection, hint) are kept
+    private static final List<String> MASKED = List.of("filter", "query", "pipeline", "q");
+    private static final List<String> KEPT = List.of("sort", "projection", "hint", "key");
+
+    private QueryShapes() {
+    }
+
+    static String of(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument(commandName, collectionOf(commandName, command));
+        for (String field : MASKED) {
+            if (command.containsKey(field)) {
+                shape.put(field, mask(command.get(field)));
+            }
+        }
+        for (String field : KEPT) {
+            if (command.containsKey(field)) {
+                shape.put(field, command.get(field));
+            }
+        }
+        // Bulk updates and deletes: the first statement stands for the batch
+        for (String statements : new String[]{"updates", "deletes"}) {
+            BsonValue value = command.get(statements);
+            if (value != null && value.isArray() && !value.asArray().isEmpty() && value.asArray().get(0).isDocument()) {
+                BsonDocument first = value.asArray().get(0).asDocument();
+                if (first.containsKey("q")) {
+                    shape.put("q", mask(first.get("q")));
+                }
+            }
+        }
+        return shape.toJson();
+    }
+
+    static BsonValue collectionOf(String commandName, BsonDocument command) {
+        BsonValue collection = command.get(commandName);
+        return collection != null && collection.isString() ? collection : PLACEHOLDER;
+    }
+
+    private static BsonValue mask(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument masked = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> masked.put(key, mask(nested)));
+            return masked;
+        }
+        if (value.isArray()) {
+            // $in lists and pipelines: keep each distinct element shape once, in order
+            BsonArray masked = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                BsonValue shape = mask(element);
+                if (!masked.contains(shape)) {
+                    masked.add(shape);
+                }
+            }
+            return masked;
+        }
+        return PLACEHOLDER;
+    }
+}
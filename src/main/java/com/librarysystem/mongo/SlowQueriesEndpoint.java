@@ -0,0 +1,30 @@
+package com.librarysystem.mongo;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slowqueries}: the most recent slow MongoDB commands, newest first. Read-only and
+ * not exposed over HTTP by default; add it to {@code management.endpoints.web.exposure.include}
+ * only behind the same protection as the other operational endpoints.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMillis", slowQueryLog.getThreshold().toMillis());
+        body.put("queries", slowQueryLog.recent());
+        return body;
+    }
+}
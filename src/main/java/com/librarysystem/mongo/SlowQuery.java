@@ -0,0 +1,40 @@
+package com.librarysystem.mongo;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One MongoDB command that took longer than the slow-query threshold. The explain plan is filled in
+ * asynchronously after the entry has been recorded, so it may still be null when read.
+ */
+@Getter
+public class SlowQuery {
+
+    private final Instant occurredAt;
+    private final String database;
+    private final String collection;
+    private final String command;
+    private final long durationMillis;
+    private final boolean failed;
+    private final String shape;
+    private final String caller;
+    private volatile Map<String, Object> explain;
+
+    public SlowQuery(Instant occurredAt, String database, String collection, String command, long durationMillis,
+                     boolean failed, String shape, String caller) {
+        this.occurredAt = occurredAt;
+        this.database = database;
+        this.collection = collection;
+        this.command = command;
+        this.durationMillis = durationMillis;
+        this.failed = failed;
+        this.shape = shape;
+        this.caller = caller;
+    }
+
+    void setExplain(Map<String, Object> explain) {
+        this.explain = explain;
+    }
+}
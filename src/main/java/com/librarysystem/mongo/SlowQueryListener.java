@@ -0,0 +1,116 @@
+package com.librarysystem.mongo;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports commands of one {@link MongoClient} that exceed the slow-query threshold to the
+ * {@link SlowQueryLog}. The synchronous driver delivers the completion event on the calling thread,
+ * so the repository method and application frame that issued the query are taken from its stack.
+ */
+public class SlowQueryListener implements CommandListener {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "aggregate", "count", "distinct", "update", "delete",
+            "findAndModify");
+    private static final String APPLICATION_PACKAGE = "com.librarysystem.";
+    private static final String REPOSITORY_PACKAGE = "com.librarysystem.repository.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    // Completion events normally follow right away; this only bounds leftovers of lost connections
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdNanos;
+    private final Map<Integer, BsonDocument> inFlight = new ConcurrentHashMap<>();
+    private volatile MongoClient client;
+
+    public SlowQueryListener(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = slowQueryLog.getThreshold().toNanos();
+    }
+
+    /**
+     * The client the explain commands run on; set once the client this listener belongs to exists.
+     */
+    public void explainWith(MongoClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!QUERY_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            inFlight.clear();
+        }
+        // The event's document is only valid during this call
+        inFlight.put(event.getRequestId(), event.getCommand().clone());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    private void complete(int requestId, String commandName, String database, long elapsedNanos, boolean failed) {
+        BsonDocument command = inFlight.remove(requestId);
+        if (command == null || elapsedNanos < thresholdNanos) {
+            return;
+        }
+        String collection = QueryShapes.collectionOf(commandName, command).asString().getValue();
+        SlowQuery entry = new SlowQuery(Instant.now(), database, collection, commandName,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failed, QueryShapes.of(commandName, command), caller());
+        slowQueryLog.record(entry, client, command);
+    }
+
+    static String caller() {
+        return STACK_WALKER.walk(frames -> {
+            String repositoryMethod = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (repositoryMethod == null && Proxy.isProxyClass(type)) {
+                    Optional<Class<?>> repository = findRepositoryInterface(type);
+                    if (repository.isPresent()) {
+                        repositoryMethod = repository.get().getSimpleName() + "." + frame.getMethodName();
+                    }
+                    continue;
+                }
+                String className = type.getName();
+                if (className.startsWith(APPLICATION_PACKAGE) && !className.startsWith(SlowQueryListener.class.getPackageName())
+                        && !className.contains("$$")) {
+                    String applicationFrame = type.getSimpleName() + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                    return repositoryMethod == null ? applicationFrame : repositoryMethod + " <- " + applicationFrame;
+                }
+            }
+            return repositoryMethod == null ? "unknown" : repositoryMethod;
+        });
+    }
+
+    private static Optional<Class<?>> findRepositoryInterface(Class<?> proxyType) {
+        for (Class<?> candidate : proxyType.getInterfaces()) {
+            if (candidate.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+}
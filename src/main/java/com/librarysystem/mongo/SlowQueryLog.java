@@ -0,0 +1,168 @@
+package com.librarysystem.mongo;
+
+import com.mongodb.client.MongoClient;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most recent slow MongoDB commands in a bounded ring and captures their query plans on
+ * a background thread. Plans are cached per query shape for a while, so a hot slow query is
+ * explained once rather than on every occurrence; explains that do not fit the queue are skipped.
+ * Only the plan structure is kept: the parts of a plan that repeat the query's values are removed.
+ */
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    // Session, transaction and routing fields belong to the original command, not to its explain
+    private static final Set<String> NON_EXPLAINABLE_FIELDS = Set.of("$db", "lsid", "$clusterTime", "txnNumber",
+            "autocommit", "startTransaction", "$readPreference", "readConcern", "writeConcern", "signature");
+    // Plan fields that repeat the literal values of the query (emails, names, ids)
+    private static final Set<String> LITERAL_FIELDS = Set.of("parsedQuery", "filter", "indexBounds", "slotBasedPlan");
+    private static final int MAX_CACHED_PLANS = 500;
+
+    private final Duration threshold;
+    private final int capacity;
+    private final boolean explainEnabled;
+    private final Duration planTtl;
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+    private final Map<String, CachedPlan> plans = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryLog(Duration threshold, int capacity, boolean explainEnabled, Duration planTtl) {
+        this.threshold = threshold;
+        this.capacity = capacity;
+        this.explainEnabled = explainEnabled;
+        this.planTtl = planTtl;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public List<SlowQuery> recent() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    void record(SlowQuery entry, MongoClient client, BsonDocument command) {
+        log.warn("Slow MongoDB {} on {}.{} took {} ms{} from {}: {}", entry.getCommand(), entry.getDatabase(),
+                entry.getCollection(), entry.getDurationMillis(), entry.isFailed() ? " and failed" : "", entry.getCaller(),
+                entry.getShape());
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeLast();
+            }
+            entries.addFirst(entry);
+        }
+        if (explainEnabled && client != null) {
+            CachedPlan cached = plans.get(entry.getShape());
+            if (cached != null && cached.expiresAt() > System.nanoTime()) {
+                entry.setExplain(cached.plan());
+                return;
+            }
+            explainExecutor.execute(() -> explain(entry, client, command));
+        }
+    }
+
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void explain(SlowQuery entry, MongoClient client, BsonDocument command) {
+        try {
+            BsonDocument explained = new BsonDocument();
+            command.forEach((key, value) -> {
+                if (!NON_EXPLAINABLE_FIELDS.contains(key)) {
+                    explained.put(key, value);
+                }
+            });
+            // queryPlanner only plans the command; it never runs it, so writes are not applied
+            Document result = client.getDatabase(entry.getDatabase())
+                    .runCommand(new Document("explain", explained).append("verbosity", "queryPlanner"));
+            Map<String, Object> plan = planOf(result);
+            entry.setExplain(plan);
+            if (plans.size() >= MAX_CACHED_PLANS) {
+                plans.clear();
+            }
+            plans.put(entry.getShape(), new CachedPlan(plan, System.nanoTime() + planTtl.toNanos()));
+        } catch (RuntimeException e) {
+            log.debug("Could not explain slow {} on {}.{}: {}", entry.getCommand(), entry.getDatabase(), entry.getCollection(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * The query planner section of an explain result (nested under {@code $cursor} for aggregations)
+     * without its literal values; null when the result has none.
+     */
+    static Map<String, Object> planOf(Document explainResult) {
+        Document planner = findQueryPlanner(explainResult);
+        return planner == null ? null : withoutLiterals(planner);
+    }
+
+    private static Document findQueryPlanner(Object value) {
+        if (value instanceof Document document) {
+            if (document.get("queryPlanner") instanceof Document planner) {
+                return planner;
+            }
+            for (Object child : document.values()) {
+                Document planner = findQueryPlanner(child);
+                if (planner != null) {
+                    return planner;
+                }
+            }
+        } else if (value instanceof List<?> list) {
+            for (Object child : list) {
+                Document planner = findQueryPlanner(child);
+                if (planner != null) {
+                    return planner;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Document withoutLiterals(Document document) {
+        Document copy = new Document();
+        document.forEach((key, value) -> {
+            if (!LITERAL_FIELDS.contains(key)) {
+                copy.put(key, withoutLiteralsIn(value));
+            }
+        });
+        return copy;
+    }
+
+    private static Object withoutLiteralsIn(Object value) {
+        if (value instanceof Document document) {
+            return withoutLiterals(document);
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(SlowQueryLog::withoutLiteralsIn).toList();
+        }
+        return value;
+    }
+
+    private record CachedPlan(Map<String, Object> plan, long expiresAt) {
+    }
+}
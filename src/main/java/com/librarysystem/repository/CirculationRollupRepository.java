@@ -0,0 +1,17 @@
+package com.librarysystem.repository;
+
+import com.librarysystem.model.CirculationRollup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CirculationRollupRepository extends MongoRepository<CirculationRollup, String> {
+
+    @Query("{'date': {$gte: ?0, $lte: ?1}}")
+    List<CirculationRollup> findByDateRange(LocalDate startDate, LocalDate endDate, Sort sort);
+}
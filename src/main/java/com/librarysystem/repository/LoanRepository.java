@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LoanRepository extends MongoRepository<Loan, String> {
@@ -22,12 +23,15 @@ public interface LoanRepository extends MongoRepository<Loan, String> {
 
     List<Loan> findByBookIdAndStatus(String bookId, LoanStatus status);
 
+    Optional<Loan> findByIdempotencyKey(String idempotencyKey);
+
     @Query("{'dueDate': {$lt: ?0}, 'status': 'ACTIVE'}")
     List<Loan> findOverdueLoans(LocalDate currentDate);
 
     @Query("{'dueDate': {$gte: ?0, $lte: ?1}}")
     List<Loan> findLoansDueBetween(LocalDate startDate, LocalDate endDate);
 
+    // Read by the rollup rebuild, which writes its counts back: keep on the primary so a lagging secondary cannot undercount
     @Query("{'loanDate': {$gte: ?0, $lte: ?1}}")
     List<Loan> findLoansByDateRange(LocalDate startDate, LocalDate endDate);
 
@@ -0,0 +1,19 @@
+package com.librarysystem.routing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only method whose queries may be served by a replica set secondary that lags the
+ * primary by at most the configured staleness. Works on service methods and repository interface
+ * methods; writes made inside the method still go to the primary. Reads whose results are written
+ * back, such as a rebuild, must stay on the primary: a stale read would overwrite newer data.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromSecondary {
+}
@@ -0,0 +1,66 @@
+package com.librarysystem.routing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Tracks whether the current thread is inside a {@link ReadFromSecondary} method, and provides the
+ * advisor that sets it. Nested calls keep the routing of the outermost annotated method.
+ * <p>
+ * Cached methods may not be annotated: a stale secondary read would be kept for the whole cache
+ * TTL rather than for the replication lag, so the advisor refuses them at startup.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> SECONDARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static boolean isSecondary() {
+        return Boolean.TRUE.equals(SECONDARY.get());
+    }
+
+    public static Advisor advisor() {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+                boolean annotated = AnnotatedElementUtils.hasAnnotation(method, ReadFromSecondary.class)
+                        || AnnotatedElementUtils.hasAnnotation(specificMethod, ReadFromSecondary.class);
+                if (annotated && (isCached(method) || isCached(specificMethod))) {
+                    throw new IllegalStateException("@ReadFromSecondary cannot be combined with caching on "
+                            + targetClass.getName() + "." + method.getName() + ", cache-populating reads stay on the primary");
+                }
+                return annotated;
+            }
+        };
+        return new DefaultPointcutAdvisor(pointcut, (MethodInterceptor) ReadRouting::invokeOnSecondary);
+    }
+
+    private static boolean isCached(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Cacheable.class)
+                || AnnotatedElementUtils.hasAnnotation(method, CachePut.class);
+    }
+
+    private static Object invokeOnSecondary(MethodInvocation invocation) throws Throwable {
+        if (isSecondary()) {
+            return invocation.proceed();
+        }
+        SECONDARY.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            SECONDARY.remove();
+        }
+    }
+}
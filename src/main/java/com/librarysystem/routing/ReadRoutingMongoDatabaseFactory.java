@@ -0,0 +1,68 @@
+package com.librarysystem.routing;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+/**
+ * Hands out databases with the secondary read preference while the calling thread runs a
+ * {@link ReadFromSecondary} method, and the delegate's (primary) databases otherwise. Sessions and
+ * transactions always stay on the primary.
+ */
+public class ReadRoutingMongoDatabaseFactory implements MongoDatabaseFactory, DisposableBean {
+
+    private final MongoDatabaseFactory delegate;
+    private final ReadPreference secondaryReadPreference;
+
+    public ReadRoutingMongoDatabaseFactory(MongoDatabaseFactory delegate, ReadPreference secondaryReadPreference) {
+        this.delegate = delegate;
+        this.secondaryReadPreference = secondaryReadPreference;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return route(delegate.getMongoDatabase());
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return route(delegate.getMongoDatabase(dbName));
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return delegate.withSession(session);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    private MongoDatabase route(MongoDatabase database) {
+        return ReadRouting.isSecondary() ? database.withReadPreference(secondaryReadPreference) : database;
+    }
+}
@@ -0,0 +1,31 @@
+package com.librarysystem.search;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks saves that only change a book's available copies, as checkouts and returns do. None of the
+ * indexed fields change, so the in-memory search indexes skip them.
+ */
+public final class AvailabilityUpdate {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private AvailabilityUpdate() {
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    public static <T> T run(Supplier<T> save) {
+        if (isActive()) {
+            return save.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return save.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
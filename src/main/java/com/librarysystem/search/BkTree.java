@@ -0,0 +1,152 @@
+package com.librarysystem.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Burkhard-Keller tree over strings under Levenshtein distance. Children hang off their parent by
+ * their distance to it, so by the triangle inequality a search within {@code k} edits only has to
+ * descend into children at distance {@code d-k .. d+k} of each visited node and skips most of
+ * the tree. Removing a value leaves its node in place to keep the structure valid.
+ */
+public class BkTree<V> {
+
+    private Node<V> root;
+    private int size;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String key, V value) {
+        lock.writeLock().lock();
+        try {
+            if (root == null) {
+                root = new Node<>(key);
+                root.values.add(value);
+                size++;
+                return;
+            }
+            Node<V> node = root;
+            while (true) {
+                int distance = distance(key, node.key);
+                if (distance == 0) {
+                    if (node.values.add(value)) {
+                        size++;
+                    }
+                    return;
+                }
+                Node<V> child = node.children.get(distance);
+                if (child == null) {
+                    child = new Node<>(key);
+                    child.values.add(value);
+                    node.children.put(distance, child);
+                    size++;
+                    return;
+                }
+                node = child;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key, V value) {
+        lock.writeLock().lock();
+        try {
+            Node<V> node = root;
+            while (node != null) {
+                int distance = distance(key, node.key);
+                if (distance == 0) {
+                    if (node.values.remove(value)) {
+                        size--;
+                    }
+                    return;
+                }
+                node = node.children.get(distance);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match<V>> search(String query, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            List<Match<V>> matches = new ArrayList<>();
+            if (root == null) {
+                return matches;
+            }
+            Deque<Node<V>> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node<V> node = pending.pop();
+                int distance = distance(query, node.key);
+                if (distance <= maxDistance) {
+                    for (V value : node.values) {
+                        matches.add(new Match<>(value, node.key, distance));
+                    }
+                }
+                for (Map.Entry<Integer, Node<V>> child : node.children.entrySet()) {
+                    if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                        pending.push(child.getValue());
+                    }
+                }
+            }
+            matches.sort(Comparator.comparingInt(Match::distance));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static int distance(String a, String b) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j] + 1, current[j - 1] + 1));
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    public record Match<V>(V value, String key, int distance) {
+    }
+
+    private static final class Node<V> {
+        private final String key;
+        private final Set<V> values = new HashSet<>(2);
+        private final Map<Integer, Node<V>> children = new HashMap<>(4);
+
+        private Node(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.librarysystem.search;
+
+import com.librarysystem.model.Borrower;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BorrowerPhoneticListener extends AbstractMongoEventListener<Borrower> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Borrower> event) {
+        Borrower borrower = event.getSource();
+        borrower.setPhoneticKeys(PhoneticKeys.of(borrower.getFirstName(), borrower.getLastName()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.librarysystem.search;
+
+import com.librarysystem.tenant.TenantContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory indexes, one per library branch, selected by the current {@link TenantContext}.
+ * Updates that arrive while a branch is being rebuilt are recorded and replayed onto the rebuilt
+ * index before it replaces the live one, so a write landing mid-rebuild is not lost. Updates must
+ * therefore be safe to apply to an index that may already contain them.
+ */
+public class BranchIndexes<T> {
+
+    private final Supplier<T> emptyIndex;
+
+    // Keyed by branch, "" for the default branch
+    private final Map<String, T> indexes = new ConcurrentHashMap<>();
+
+    // Updates recorded per branch while it is being rebuilt; guarded by this
+    private final Map<String, List<Consumer<T>>> pending = new HashMap<>();
+
+    public BranchIndexes(Supplier<T> emptyIndex) {
+        this.emptyIndex = emptyIndex;
+    }
+
+    public T current() {
+        return indexes.computeIfAbsent(branchKey(), branch -> emptyIndex.get());
+    }
+
+    public synchronized void update(Consumer<T> update) {
+        update.accept(current());
+        List<Consumer<T>> recorded = pending.get(branchKey());
+        if (recorded != null) {
+            recorded.add(update);
+        }
+    }
+
+    /**
+     * Builds a fresh index for the current branch and swaps it in. Returns false without building
+     * when a rebuild of the branch is already running.
+     */
+    public boolean rebuild(Supplier<T> builder) {
+        String branch = branchKey();
+        synchronized (this) {
+            if (pending.containsKey(branch)) {
+                return false;
+            }
+            pending.put(branch, new ArrayList<>());
+        }
+        try {
+            T rebuilt = builder.get();
+            synchronized (this) {
+                pending.get(branch).forEach(update -> update.accept(rebuilt));
+                indexes.put(branch, rebuilt);
+            }
+            return true;
+        } finally {
+            synchronized (this) {
+                pending.remove(branch);
+            }
+        }
+    }
+
+    public static String branchName() {
+        return TenantContext.current() == null ? "default" : TenantContext.current();
+    }
+
+    private static String branchKey() {
+        return TenantContext.current() == null ? "" : TenantContext.current();
+    }
+}
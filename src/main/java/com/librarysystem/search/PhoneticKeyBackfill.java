@@ -0,0 +1,71 @@
+package com.librarysystem.search;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adds phonetic keys to borrowers saved before they existed, in bulk batches at startup and in
+ * every branch database. Only the key field is written, so the documents are otherwise untouched.
+ */
+@Component
+public class PhoneticKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(PhoneticKeyBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final TenantProperties tenantProperties;
+
+    @Autowired
+    public PhoneticKeyBackfill(MongoTemplate mongoTemplate, TenantProperties tenantProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.tenantProperties = tenantProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (String branch : tenantProperties.databaseBranches()) {
+            TenantContext.runAs(branch, this::backfillCurrentBranch);
+        }
+    }
+
+    private void backfillCurrentBranch() {
+        int updated = 0;
+        List<Borrower> batch;
+        do {
+            Query missing = Query.query(Criteria.where("phoneticKeys").exists(false)).limit(BATCH_SIZE);
+            missing.fields().include("firstName", "lastName");
+            batch = mongoTemplate.find(missing, Borrower.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Borrower.class);
+            for (Borrower borrower : batch) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(borrower.getId())),
+                        Update.update("phoneticKeys", PhoneticKeys.of(borrower.getFirstName(), borrower.getLastName())));
+            }
+            bulk.execute();
+            updated += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("Added phonetic keys to {} borrowers in branch {}", updated,
+                    TenantContext.current() == null ? "default" : TenantContext.current());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.librarysystem.search;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Double Metaphone codes for names, so "Jon Smyth" and "John Smith" share keys. Each word
+ * contributes its primary code and, when different, its alternate code.
+ */
+public final class PhoneticKeys {
+
+    private static final DoubleMetaphone ENCODER = new DoubleMetaphone();
+
+    static {
+        ENCODER.setMaxCodeLen(6);
+    }
+
+    private PhoneticKeys() {
+    }
+
+    public static List<String> of(String... names) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String name : names) {
+            for (Set<String> codes : perWord(name)) {
+                keys.addAll(codes);
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Codes of each word separately, for matching every spoken word against a stored name.
+     */
+    public static List<Set<String>> perWord(String name) {
+        List<Set<String>> words = new ArrayList<>();
+        for (String word : SuggestionTrie.normalize(name).split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            Set<String> codes = new LinkedHashSet<>(2);
+            String primary = ENCODER.doubleMetaphone(word);
+            String alternate = ENCODER.doubleMetaphone(word, true);
+            if (primary != null && !primary.isEmpty()) {
+                codes.add(primary);
+            }
+            if (alternate != null && !alternate.isEmpty()) {
+                codes.add(alternate);
+            }
+            if (!codes.isEmpty()) {
+                words.add(codes);
+            }
+        }
+        return words;
+    }
+}
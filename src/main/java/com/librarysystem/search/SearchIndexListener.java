@@ -0,0 +1,63 @@
+package com.librarysystem.search;
+
+import com.librarysystem.events.AfterCommit;
+import com.librarysystem.model.Author;
+import com.librarysystem.model.Book;
+import com.librarysystem.service.AuthorMatchService;
+import com.librarysystem.service.SuggestService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies book and author saves and deletes to the in-memory search indexes as they happen.
+ * Listeners run on the writing thread, so each write reaches the index of its own branch; inside a
+ * transaction the index is only updated once it has committed.
+ */
+@Component
+public class SearchIndexListener extends AbstractMongoEventListener<Object> {
+
+    private final SuggestService suggestService;
+    private final AuthorMatchService authorMatchService;
+
+    @Autowired
+    public SearchIndexListener(SuggestService suggestService, AuthorMatchService authorMatchService) {
+        this.suggestService = suggestService;
+        this.authorMatchService = authorMatchService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof Book book) {
+            // Checkouts and returns only change available copies, which no index covers
+            if (!AvailabilityUpdate.isActive()) {
+                AfterCommit.run(() -> suggestService.indexBook(book));
+            }
+        } else if (event.getSource() instanceof Author author) {
+            AfterCommit.run(() -> {
+                suggestService.indexAuthor(author);
+                authorMatchService.indexAuthor(author);
+            });
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Object id = event.getSource().get("_id");
+        if (!(id instanceof ObjectId) && !(id instanceof String)) {
+            return;
+        }
+        String documentId = id instanceof ObjectId objectId ? objectId.toHexString() : (String) id;
+        if ("books".equals(event.getCollectionName())) {
+            AfterCommit.run(() -> suggestService.removeBook(documentId));
+        } else if ("authors".equals(event.getCollectionName())) {
+            AfterCommit.run(() -> {
+                suggestService.removeAuthor(documentId);
+                authorMatchService.removeAuthor(documentId);
+            });
+        }
+    }
+}
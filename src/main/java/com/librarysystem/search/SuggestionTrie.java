@@ -0,0 +1,301 @@
+package com.librarysystem.search;
+
+import com.librarysystem.model.Suggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Radix tree over normalized names for type-ahead. Every word start of a name is indexed, so
+ * "rin" finds "The Lord of the Rings". Each node keeps the best score in its subtree, which lets
+ * a lookup walk the prefix and then expand nodes best-first, stopping as soon as it has
+ * {@code limit} results instead of visiting every completion.
+ */
+public class SuggestionTrie {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_INDEXED_WORDS = 8;
+
+    private final Node root = new Node("");
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Suggestion.Type type, String id, String text, double score) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            removeEntry(entryKey(type, id));
+            if (normalized.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(type, id, text, score, indexKeys(normalized));
+            entries.put(entry.key(), entry);
+            for (String key : entry.indexKeys) {
+                insert(key, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Suggestion.Type type, String id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(entryKey(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addScore(Suggestion.Type type, String id, double delta) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(entryKey(type, id));
+            if (entry == null) {
+                return;
+            }
+            entry.score += delta;
+            for (String key : entry.indexKeys) {
+                refreshPath(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, Suggestion.Type type, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node start = find(normalized);
+            if (start == null) {
+                return List.of();
+            }
+
+            // Best-first: nodes are ranked by the best score below them, entries by their own score
+            PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> Double.compare(b.score(), a.score()));
+            queue.add(new Candidate(start.maxScore, start, null));
+            Set<String> seen = new HashSet<>();
+            List<Suggestion> results = new ArrayList<>(limit);
+            while (!queue.isEmpty() && results.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.entry() != null) {
+                    Entry entry = candidate.entry();
+                    if ((type == null || entry.type == type) && seen.add(entry.key())) {
+                        results.add(new Suggestion(entry.type, entry.id, entry.text, entry.score));
+                    }
+                    continue;
+                }
+                Node node = candidate.node();
+                for (Entry entry : node.entries) {
+                    queue.add(new Candidate(entry.score, null, entry));
+                }
+                for (Node child : node.children.values()) {
+                    queue.add(new Candidate(child.maxScore, child, null));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String entryKey(Suggestion.Type type, String id) {
+        return type + ":" + id;
+    }
+
+    private static Set<String> indexKeys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        int words = 1;
+        for (int i = normalized.indexOf(' '); i >= 0 && words < MAX_INDEXED_WORDS; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+            words++;
+        }
+        return keys;
+    }
+
+    private void removeEntry(String entryKey) {
+        Entry existing = entries.remove(entryKey);
+        if (existing == null) {
+            return;
+        }
+        for (String key : existing.indexKeys) {
+            Node node = find(key);
+            if (node != null) {
+                node.entries.remove(existing);
+            }
+            prune(key);
+        }
+    }
+
+    private void insert(String key, Entry entry) {
+        Node node = root;
+        String rest = key;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                child = new Node(rest);
+                node.children.put(rest.charAt(0), child);
+                node = child;
+                rest = "";
+                break;
+            }
+            int common = commonPrefixLength(child.label, rest);
+            if (common < child.label.length()) {
+                // Split the edge so the shared part becomes its own node
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                split.maxScore = child.maxScore;
+                node.children.put(split.label.charAt(0), split);
+                child = split;
+            }
+            node = child;
+            rest = rest.substring(common);
+        }
+        node.entries.add(entry);
+        refreshPath(key);
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        String rest = prefix;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return null;
+            }
+            if (child.label.startsWith(rest)) {
+                return child;
+            }
+            if (!rest.startsWith(child.label)) {
+                return null;
+            }
+            rest = rest.substring(child.label.length());
+            node = child;
+        }
+        return node;
+    }
+
+    private void refreshPath(String key) {
+        List<Node> path = path(key);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeMaxScore();
+        }
+    }
+
+    private void prune(String key) {
+        List<Node> path = path(key);
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            node.recomputeMaxScore();
+            if (node.entries.isEmpty() && node.children.isEmpty()) {
+                path.get(i - 1).children.remove(node.label.charAt(0));
+            }
+        }
+        root.recomputeMaxScore();
+    }
+
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        String rest = key;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.label)) {
+                break;
+            }
+            path.add(child);
+            rest = rest.substring(child.label.length());
+            node = child;
+        }
+        return path;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Set<Entry> entries = new HashSet<>(2);
+        private double maxScore = Double.NEGATIVE_INFINITY;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private void recomputeMaxScore() {
+            double max = Double.NEGATIVE_INFINITY;
+            for (Entry entry : entries) {
+                max = Math.max(max, entry.score);
+            }
+            for (Node child : children.values()) {
+                max = Math.max(max, child.maxScore);
+            }
+            maxScore = max;
+        }
+    }
+
+    private static final class Entry {
+        private final Suggestion.Type type;
+        private final String id;
+        private final String text;
+        private final Set<String> indexKeys;
+        private double score;
+
+        private Entry(Suggestion.Type type, String id, String text, double score, Set<String> indexKeys) {
+            this.type = type;
+            this.id = id;
+            this.text = text;
+            this.score = score;
+            this.indexKeys = indexKeys;
+        }
+
+        private String key() {
+            return entryKey(type, id);
+        }
+    }
+
+    private record Candidate(double score, Node node, Entry entry) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.librarysystem.service;
+
+import com.librarysystem.model.AccountSummary;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.Loan.LoanStatus;
+import com.librarysystem.model.LoanEvent;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class AccountSummaryService {
+
+    private final MongoTemplate mongoTemplate;
+    private final BorrowerService borrowerService;
+
+    @Autowired
+    public AccountSummaryService(MongoTemplate mongoTemplate, BorrowerService borrowerService) {
+        this.mongoTemplate = mongoTemplate;
+        this.borrowerService = borrowerService;
+    }
+
+    /**
+     * Summaries are cached per borrower and day, since the overdue loans depend on today's date.
+     */
+    public static String cacheKey(String borrowerId) {
+        return borrowerId + ":" + LocalDate.now();
+    }
+
+    @Cacheable(value = "borrowerSummaries", key = "T(com.librarysystem.service.AccountSummaryService).cacheKey(#borrowerId)")
+    public Optional<AccountSummary> getSummary(String borrowerId) {
+        return borrowerService.findById(borrowerId).map(this::buildSummary);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(value = "borrowerSummaries",
+        key = "T(com.librarysystem.service.AccountSummaryService).cacheKey(#event.borrowerId)")
+    public void onLoanEvent(LoanEvent event) {
+        // Any loan change for the borrower invalidates their cached summary
+    }
+
+    private AccountSummary buildSummary(Borrower borrower) {
+        LoanFacets facets = aggregateLoans(borrower.getId());
+
+        AccountSummary summary = new AccountSummary();
+        summary.setBorrower(borrower);
+        summary.setActiveLoans(facets.getActiveLoans());
+        summary.setOverdueLoans(facets.getOverdueLoans());
+        summary.setActiveLoanCount(facets.getActiveLoans().size());
+        summary.setTotalFines(facets.getFines().isEmpty() || facets.getFines().get(0).getTotal() == null
+            ? 0.0
+            : facets.getFines().get(0).getTotal());
+        int remaining = (int) Math.max(0, LoanService.MAX_LOANS_PER_BORROWER - summary.getActiveLoanCount());
+        summary.setRemainingLoanQuota(remaining);
+        summary.setCanBorrow(borrower.isActive() && remaining > 0);
+        return summary;
+    }
+
+    private LoanFacets aggregateLoans(String borrowerId) {
+        // Active loans, overdue loans and the fine total come back from a single $facet round trip
+        TypedAggregation<Loan> aggregation = Aggregation.newAggregation(Loan.class,
+            Aggregation.match(Criteria.where("borrowerId").is(borrowerId)),
+            Aggregation.facet(Aggregation.match(Criteria.where("status").is(LoanStatus.ACTIVE))).as("activeLoans")
+                .and(Aggregation.match(new Criteria().orOperator(
+                    Criteria.where("status").is(LoanStatus.OVERDUE),
+                    Criteria.where("status").is(LoanStatus.ACTIVE).and("dueDate").lt(LocalDate.now())))).as("overdueLoans")
+                .and(Aggregation.group().sum("fineAmount").as("total")).as("fines"));
+
+        LoanFacets facets = mongoTemplate.aggregate(aggregation, LoanFacets.class).getUniqueMappedResult();
+        return facets != null ? facets : new LoanFacets();
+    }
+
+    @Data
+    public static class LoanFacets {
+        private List<Loan> activeLoans = new ArrayList<>();
+        private List<Loan> overdueLoans = new ArrayList<>();
+        private List<FineTotal> fines = new ArrayList<>();
+    }
+
+    @Data
+    public static class FineTotal {
+        private Double total;
+    }
+}
@@ -0,0 +1,140 @@
+package com.librarysystem.service;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.model.Author;
+import com.librarysystem.repository.AuthorRepository;
+import com.librarysystem.search.BkTree;
+import com.librarysystem.search.BranchIndexes;
+import com.librarysystem.search.SuggestionTrie;
+import com.librarysystem.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Typo-tolerant author lookup. Full names, first names and last names are kept in a BK-tree per
+ * library branch, so a misspelled name is matched within a few edits in memory instead of by a
+ * regex scan. Like the suggestion index, the tree is rebuilt periodically to pick up writes made
+ * through other instances.
+ */
+@Service
+public class AuthorMatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorMatchService.class);
+
+    public static final int MAX_DISTANCE = 3;
+    public static final int MAX_LIMIT = 50;
+
+    private final AuthorRepository authorRepository;
+    private final TenantProperties tenantProperties;
+
+    private final BranchIndexes<BranchIndex> indexes = new BranchIndexes<>(BranchIndex::new);
+
+    @Autowired
+    public AuthorMatchService(AuthorRepository authorRepository, TenantProperties tenantProperties) {
+        this.authorRepository = authorRepository;
+        this.tenantProperties = tenantProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${library.search.rebuild-interval-ms:600000}",
+            initialDelayString = "${library.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        for (String branch : tenantProperties.databaseBranches()) {
+            TenantContext.runAs(branch, this::rebuildCurrentBranch);
+        }
+    }
+
+    private void rebuildCurrentBranch() {
+        if (indexes.rebuild(this::load)) {
+            log.info("Author name index for branch {} built with {} authors", BranchIndexes.branchName(),
+                    indexes.current().authors.size());
+        }
+    }
+
+    private BranchIndex load() {
+        BranchIndex rebuilt = new BranchIndex();
+        for (Author author : authorRepository.findAll()) {
+            rebuilt.authors.put(author.getId(), author);
+            nameKeys(author).forEach(key -> rebuilt.names.add(key, author.getId()));
+        }
+        return rebuilt;
+    }
+
+    public List<Author> findFuzzy(String name, Integer maxDistance, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (maxDistance != null && (maxDistance < 0 || maxDistance > MAX_DISTANCE)) {
+            throw new RuntimeException("Max distance must be between 0 and " + MAX_DISTANCE);
+        }
+        String query = SuggestionTrie.normalize(name);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        int distance = maxDistance != null ? maxDistance : defaultDistance(query);
+        BranchIndex index = indexes.current();
+        Map<String, Author> authors = index.authors;
+
+        // Best distance per author, closest first; ties ordered by name
+        Map<String, Integer> best = new LinkedHashMap<>();
+        for (BkTree.Match<String> match : index.names.search(query, distance)) {
+            best.putIfAbsent(match.value(), match.distance());
+        }
+        return best.entrySet().stream()
+                .filter(entry -> authors.containsKey(entry.getKey()))
+                .sorted(Map.Entry.<String, Integer>comparingByValue()
+                        .thenComparing(entry -> SuggestionTrie.normalize(authors.get(entry.getKey()).fullName())))
+                .limit(limit)
+                .map(entry -> authors.get(entry.getKey()))
+                .toList();
+    }
+
+    public void indexAuthor(Author author) {
+        indexes.update(index -> {
+            Author previous = index.authors.put(author.getId(), author);
+            if (previous != null) {
+                nameKeys(previous).forEach(key -> index.names.remove(key, previous.getId()));
+            }
+            nameKeys(author).forEach(key -> index.names.add(key, author.getId()));
+        });
+    }
+
+    public void removeAuthor(String id) {
+        indexes.update(index -> {
+            Author previous = index.authors.remove(id);
+            if (previous != null) {
+                nameKeys(previous).forEach(key -> index.names.remove(key, id));
+            }
+        });
+    }
+
+    private static int defaultDistance(String query) {
+        // One typo for short names, two for longer ones
+        return query.length() <= 5 ? 1 : 2;
+    }
+
+    private static Set<String> nameKeys(Author author) {
+        String first = SuggestionTrie.normalize(author.getFirstName());
+        String last = SuggestionTrie.normalize(author.getLastName());
+        String full = SuggestionTrie.normalize(author.fullName());
+        return Stream.of(first, last, full).filter(key -> !key.isEmpty()).collect(Collectors.toSet());
+    }
+
+    private static final class BranchIndex {
+        private final Map<String, Author> authors = new ConcurrentHashMap<>();
+        private final BkTree<String> names = new BkTree<>();
+    }
+}
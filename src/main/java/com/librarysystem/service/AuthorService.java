@@ -1,5 +1,7 @@
 package com.librarysystem.service;
 
+import com.librarysystem.cache.BatchCacheLoader;
+import com.librarysystem.cache.SearchCacheKeys;
 import com.librarysystem.model.Author;
 import com.librarysystem.repository.AuthorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.cache.annotation.CachePut;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,17 +20,26 @@ import java.util.Optional;
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final BatchCacheLoader batchCacheLoader;
 
     @Autowired
-    public AuthorService(AuthorRepository authorRepository) {
+    public AuthorService(AuthorRepository authorRepository, BatchCacheLoader batchCacheLoader) {
         this.authorRepository = authorRepository;
+        this.batchCacheLoader = batchCacheLoader;
     }
 
-    @Cacheable(value = "authors", key = "#id")
+    @Cacheable(value = "authors", key = "#id", sync = true)
     public Optional<Author> findById(String id) {
         return authorRepository.findById(id);
     }
 
+    public List<Author> findAllByIds(Collection<String> ids) {
+        if (ids.size() > BatchCacheLoader.MAX_BATCH_SIZE) {
+            throw new RuntimeException("Cannot fetch more than " + BatchCacheLoader.MAX_BATCH_SIZE + " authors per request");
+        }
+        return batchCacheLoader.loadAll("authors", ids, authorRepository::findAllById, Author::getId);
+    }
+
     @Cacheable(value = "authors")
     public List<Author> findAll() {
         return authorRepository.findAll();
@@ -71,8 +83,9 @@ public class AuthorService {
         return authorRepository.findByNationalityIgnoreCase(nationality);
     }
 
+    @Cacheable(value = "authorSearches", key = "@searchKeys.of('authors', #keyword)", sync = true)
     public List<Author> searchAuthors(String keyword) {
-        return authorRepository.searchAuthors(keyword);
+        return authorRepository.searchAuthors(SearchCacheKeys.normalize(keyword));
     }
 
     public List<Author> searchByName(String name) {
@@ -1,13 +1,23 @@
 package com.librarysystem.service;
 
+import com.librarysystem.cache.BatchCacheLoader;
+import com.librarysystem.cache.SearchCacheKeys;
 import com.librarysystem.model.Book;
 import com.librarysystem.repository.BookRepository;
+import com.librarysystem.routing.ReadFromSecondary;
+import com.librarysystem.search.AvailabilityUpdate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -20,6 +30,7 @@ public class BookService {
         this.bookRepository = bookRepository;
     }
 
+    @ReadFromSecondary
     public List<Book> findAll() {
         return bookRepository.findAll();
     }
@@ -28,6 +39,15 @@ public class BookService {
         return bookRepository.findById(id);
     }
 
+    public List<Book> findAllByIds(Collection<String> ids) {
+        if (ids.size() > BatchCacheLoader.MAX_BATCH_SIZE) {
+            throw new RuntimeException("Cannot fetch more than " + BatchCacheLoader.MAX_BATCH_SIZE + " books per request");
+        }
+        Map<String, Book> books = bookRepository.findAllById(ids.stream().distinct().toList()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream().distinct().map(books::get).filter(Objects::nonNull).toList();
+    }
+
     public Book save(Book book) {
         return bookRepository.save(book);
     }
@@ -39,8 +59,9 @@ public class BookService {
         bookRepository.deleteById(id);
     }
 
+    @Cacheable(value = "bookSearches", key = "@searchKeys.of('books', #keyword)", sync = true)
     public List<Book> searchBooks(String keyword) {
-        return bookRepository.findByKeyword(keyword);
+        return bookRepository.findByKeyword(SearchCacheKeys.normalize(keyword));
     }
 
     public Optional<Book> findByIsbn(String isbn) {
@@ -57,7 +78,7 @@ public class BookService {
                 .orElse(false);
     }
 
-    public void borrowBook(String bookId) {
+    public Book borrowBook(String bookId) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + bookId));
 
@@ -66,10 +87,10 @@ public class BookService {
         }
 
         book.setAvailableCopies(book.getAvailableCopies() - 1);
-        bookRepository.save(book);
+        return AvailabilityUpdate.run(() -> bookRepository.save(book));
     }
 
-    public void returnBook(String bookId) {
+    public Book returnBook(String bookId) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + bookId));
 
@@ -80,6 +101,6 @@ public class BookService {
             book.setAvailableCopies(book.getAvailableCopies() + 1);
         }
 
-        bookRepository.save(book);
+        return AvailabilityUpdate.run(() -> bookRepository.save(book));
     }
 }
@@ -1,33 +1,57 @@
 package com.librarysystem.service;
 
+import com.librarysystem.cache.BatchCacheLoader;
+import com.librarysystem.cache.SearchCacheKeys;
 import com.librarysystem.model.Borrower;
 import com.librarysystem.repository.BorrowerRepository;
+import com.librarysystem.search.PhoneticKeys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class BorrowerService {
 
+    public static final int MAX_PHONETIC_LIMIT = 100;
+
     private final BorrowerRepository borrowerRepository;
+    private final BatchCacheLoader batchCacheLoader;
+    private final MongoTemplate mongoTemplate;
 
     @Autowired
-    public BorrowerService(BorrowerRepository borrowerRepository) {
+    public BorrowerService(BorrowerRepository borrowerRepository, BatchCacheLoader batchCacheLoader,
+                           MongoTemplate mongoTemplate) {
         this.borrowerRepository = borrowerRepository;
+        this.batchCacheLoader = batchCacheLoader;
+        this.mongoTemplate = mongoTemplate;
     }
 
-    @Cacheable(value = "borrowers", key = "#id")
+    @Cacheable(value = "borrowers", key = "#id", sync = true)
     public Optional<Borrower> findById(String id) {
         return borrowerRepository.findById(id);
     }
 
+    public List<Borrower> findAllByIds(Collection<String> ids) {
+        if (ids.size() > BatchCacheLoader.MAX_BATCH_SIZE) {
+            throw new RuntimeException("Cannot fetch more than " + BatchCacheLoader.MAX_BATCH_SIZE + " borrowers per request");
+        }
+        return batchCacheLoader.loadAll("borrowers", ids, borrowerRepository::findAllById, Borrower::getId);
+    }
+
     @Cacheable(value = "borrowers")
     public List<Borrower> findAll() {
         return borrowerRepository.findAll();
@@ -39,7 +63,10 @@ public class BorrowerService {
         return borrowerRepository.save(borrower);
     }
 
-    @CachePut(value = "borrowers", key = "#id")
+    @Caching(
+        put = @CachePut(value = "borrowers", key = "#id"),
+        evict = @CacheEvict(value = "borrowerSummaries", key = "T(com.librarysystem.service.AccountSummaryService).cacheKey(#id)")
+    )
     public Borrower update(String id, Borrower updatedBorrower) {
         return borrowerRepository.findById(id)
             .map(borrower -> {
@@ -50,7 +77,10 @@ public class BorrowerService {
             .orElseThrow(() -> new RuntimeException("Borrower not found with id: " + id));
     }
 
-    @CacheEvict(value = "borrowers", key = "#id")
+    @Caching(evict = {
+        @CacheEvict(value = "borrowers", key = "#id"),
+        @CacheEvict(value = "borrowerSummaries", key = "T(com.librarysystem.service.AccountSummaryService).cacheKey(#id)")
+    })
     public void deleteById(String id) {
         if (!borrowerRepository.existsById(id)) {
             throw new RuntimeException("Borrower not found with id: " + id);
@@ -71,19 +101,43 @@ public class BorrowerService {
         return borrowerRepository.findByActive(false);
     }
 
+    @Cacheable(value = "borrowerSearches", key = "@searchKeys.of('borrowers', #keyword)", sync = true)
     public List<Borrower> searchBorrowers(String keyword) {
-        return borrowerRepository.searchBorrowers(keyword);
+        return borrowerRepository.searchBorrowers(SearchCacheKeys.normalize(keyword));
     }
 
     public List<Borrower> searchByName(String name) {
         return borrowerRepository.searchByName(name);
     }
 
+    public List<Borrower> searchPhonetic(String name, int limit) {
+        if (limit < 1 || limit > MAX_PHONETIC_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_PHONETIC_LIMIT);
+        }
+        List<Set<String>> words = PhoneticKeys.perWord(name);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        // Every spoken word must match one of the stored codes; each clause can use the phoneticKeys
+        // index, and the server sorts and stops at the limit instead of returning every candidate
+        Criteria everyWord = new Criteria().andOperator(words.stream()
+                .map(codes -> Criteria.where("phoneticKeys").in(codes))
+                .toArray(Criteria[]::new));
+        Query query = Query.query(everyWord)
+                .with(Sort.by("lastName", "firstName"))
+                .limit(limit);
+        return mongoTemplate.find(query, Borrower.class);
+    }
+
     public List<Borrower> findByCity(String city) {
         return borrowerRepository.findByCityIgnoreCase(city);
     }
 
-    @CachePut(value = "borrowers", key = "#id")
+    @Caching(
+        put = @CachePut(value = "borrowers", key = "#id"),
+        evict = @CacheEvict(value = "borrowerSummaries", key = "T(com.librarysystem.service.AccountSummaryService).cacheKey(#id)")
+    )
     public Borrower deactivateMember(String id) {
         return borrowerRepository.findById(id)
             .map(borrower -> {
@@ -94,7 +148,10 @@ public class BorrowerService {
             .orElseThrow(() -> new RuntimeException("Borrower not found with id: " + id));
     }
 
-    @CachePut(value = "borrowers", key = "#id")
+    @Caching(
+        put = @CachePut(value = "borrowers", key = "#id"),
+        evict = @CacheEvict(value = "borrowerSummaries", key = "T(com.librarysystem.service.AccountSummaryService).cacheKey(#id)")
+    )
     public Borrower reactivateMember(String id) {
         return borrowerRepository.findById(id)
             .map(borrower -> {
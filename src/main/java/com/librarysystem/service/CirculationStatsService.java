@@ -0,0 +1,200 @@
+package com.librarysystem.service;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.model.Book;
+import com.librarysystem.model.CirculationRollup;
+import com.librarysystem.model.CirculationRollup.GenreCounts;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.repository.BookRepository;
+import com.librarysystem.repository.CirculationRollupRepository;
+import com.librarysystem.repository.LoanRepository;
+import com.librarysystem.routing.ReadFromSecondary;
+import com.librarysystem.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class CirculationStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CirculationStatsService.class);
+
+    private static final String UNKNOWN_GENRE = "unknown";
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    private final MongoTemplate mongoTemplate;
+    private final CirculationRollupRepository rollupRepository;
+    private final LoanRepository loanRepository;
+    private final BookRepository bookRepository;
+    private final TenantProperties tenantProperties;
+
+    @Value("${library.stats.rebuild-days:7}")
+    private int rebuildDays;
+
+    @Autowired
+    public CirculationStatsService(MongoTemplate mongoTemplate, CirculationRollupRepository rollupRepository,
+                                   LoanRepository loanRepository, BookRepository bookRepository,
+                                   TenantProperties tenantProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupRepository = rollupRepository;
+        this.loanRepository = loanRepository;
+        this.bookRepository = bookRepository;
+        this.tenantProperties = tenantProperties;
+    }
+
+    @ReadFromSecondary
+    public List<CirculationRollup> findRollups(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return rollupRepository.findByDateRange(from, to, Sort.by("date"));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanEvent(LoanEvent event) {
+        // Each lifecycle change is a single $inc upsert on its day's rollup document
+        LocalDate day;
+        Update update = new Update();
+        String genre = "genres." + genreKey(event.getGenre());
+        switch (event.getType()) {
+            case CREATED -> {
+                day = event.getLoanDate() != null ? event.getLoanDate() : event.getOccurredAt().toLocalDate();
+                update.inc("loans", 1).inc(genre + ".loans", 1);
+            }
+            case RETURNED -> {
+                day = event.getReturnDate() != null ? event.getReturnDate() : event.getOccurredAt().toLocalDate();
+                update.inc("returns", 1).inc(genre + ".returns", 1);
+                if (isLate(event.getReturnDate(), event.getDueDate())) {
+                    update.inc("lateReturns", 1).inc(genre + ".lateReturns", 1);
+                }
+            }
+            case RENEWED -> {
+                day = event.getOccurredAt().toLocalDate();
+                update.inc("renewals", 1);
+            }
+            case OVERDUE -> {
+                day = event.getOccurredAt().toLocalDate();
+                update.inc("overdueMarked", 1);
+            }
+            default -> {
+                return;
+            }
+        }
+
+        update.set("date", day).set("updatedAt", LocalDateTime.now());
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(day.toString())), update, CirculationRollup.class);
+        } catch (RuntimeException e) {
+            // Runs after the loan committed: failing here would report a saved loan as failed. The nightly rebuild repairs the count
+            log.warn("Could not update circulation rollup for {} on {}: {}", event.getType(), day, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${library.stats.rebuild-cron:0 30 2 * * *}")
+    public void rebuildRecent() {
+        LocalDate today = LocalDate.now();
+        for (String branch : tenantProperties.databaseBranches()) {
+            TenantContext.runAs(branch, () -> rebuild(today.minusDays(rebuildDays), today));
+        }
+    }
+
+    public List<CirculationRollup> rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<Loan> loans = loanRepository.findLoansByDateRange(from, to);
+        List<Loan> returns = loanRepository.findReturnsInDateRange(from, to);
+
+        Set<String> bookIds = new HashSet<>();
+        loans.forEach(loan -> bookIds.add(loan.getBookId()));
+        returns.forEach(loan -> bookIds.add(loan.getBookId()));
+        bookIds.remove(null);
+        Map<String, String> genres = bookRepository.findAllById(bookIds).stream()
+            .filter(book -> book.getGenre() != null)
+            .collect(Collectors.toMap(Book::getId, Book::getGenre));
+
+        // Renewal and overdue counts are only known from events, so keep what the existing documents recorded
+        Map<LocalDate, CirculationRollup> existing = rollupRepository.findByDateRange(from, to, Sort.by("date")).stream()
+            .collect(Collectors.toMap(CirculationRollup::getDate, Function.identity(), (a, b) -> a));
+        Map<LocalDate, CirculationRollup> rebuilt = new HashMap<>();
+        Function<LocalDate, CirculationRollup> rollupFor = day -> rebuilt.computeIfAbsent(day, d -> {
+            CirculationRollup rollup = new CirculationRollup();
+            rollup.setId(d.toString());
+            rollup.setDate(d);
+            CirculationRollup previous = existing.get(d);
+            if (previous != null) {
+                rollup.setRenewals(previous.getRenewals());
+                rollup.setOverdueMarked(previous.getOverdueMarked());
+            }
+            return rollup;
+        });
+
+        for (Loan loan : loans) {
+            CirculationRollup rollup = rollupFor.apply(loan.getLoanDate());
+            rollup.setLoans(rollup.getLoans() + 1);
+            GenreCounts counts = genreCounts(rollup, genres.get(loan.getBookId()));
+            counts.setLoans(counts.getLoans() + 1);
+        }
+        for (Loan loan : returns) {
+            CirculationRollup rollup = rollupFor.apply(loan.getReturnDate());
+            GenreCounts counts = genreCounts(rollup, genres.get(loan.getBookId()));
+            rollup.setReturns(rollup.getReturns() + 1);
+            counts.setReturns(counts.getReturns() + 1);
+            if (isLate(loan.getReturnDate(), loan.getDueDate())) {
+                rollup.setLateReturns(rollup.getLateReturns() + 1);
+                counts.setLateReturns(counts.getLateReturns() + 1);
+            }
+        }
+        existing.keySet().forEach(rollupFor::apply);
+
+        LocalDateTime now = LocalDateTime.now();
+        rebuilt.values().forEach(rollup -> rollup.setUpdatedAt(now));
+        rollupRepository.saveAll(rebuilt.values());
+        return findRollups(from, to);
+    }
+
+    private GenreCounts genreCounts(CirculationRollup rollup, String genre) {
+        return rollup.getGenres().computeIfAbsent(genreKey(genre), key -> new GenreCounts());
+    }
+
+    private boolean isLate(LocalDate returnDate, LocalDate dueDate) {
+        return returnDate != null && dueDate != null && returnDate.isAfter(dueDate);
+    }
+
+    private String genreKey(String genre) {
+        if (genre == null || genre.isBlank()) {
+            return UNKNOWN_GENRE;
+        }
+        // Genre names become field names, which may not contain dots or start with '$'
+        String key = genre.trim().toLowerCase(Locale.ROOT).replace('.', '_');
+        return key.startsWith("$") ? "_" + key.substring(1) : key;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Start date must not be after end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.librarysystem.service;
+
+import com.librarysystem.model.LeaderboardEntry;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final String BOOKS_KEY_PREFIX = "stats:top-books:";
+    private static final String GENRES_KEY_PREFIX = "stats:top-genres:";
+    private static final int MAX_LIMIT = 100;
+    private static final int TRIM_SAMPLE_RATE = 64;
+
+    public enum Period {
+        DAY(Duration.ofDays(8)),
+        WEEK(Duration.ofDays(35)),
+        MONTH(Duration.ofDays(400));
+
+        private final Duration retention;
+
+        Period(Duration retention) {
+            this.retention = retention;
+        }
+
+        public static Period parse(String value) {
+            try {
+                return Period.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported period: " + value + " (expected day, week or month)");
+            }
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final int capacity;
+    private final BooleanSupplier trimSampler;
+
+    @Autowired
+    public LeaderboardService(StringRedisTemplate redisTemplate,
+                              @Value("${library.stats.top-k-capacity:1000}") int capacity) {
+        this(redisTemplate, capacity, () -> ThreadLocalRandom.current().nextInt(TRIM_SAMPLE_RATE) == 0);
+    }
+
+    LeaderboardService(StringRedisTemplate redisTemplate, int capacity, BooleanSupplier trimSampler) {
+        this.redisTemplate = redisTemplate;
+        this.capacity = capacity;
+        this.trimSampler = trimSampler;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanEvent(LoanEvent event) {
+        if (event.getType() != LoanEvent.EventType.CREATED || event.getBookId() == null) {
+            return;
+        }
+        LocalDate day = event.getLoanDate() != null ? event.getLoanDate() : event.getOccurredAt().toLocalDate();
+        // Trimming every bucket on every checkout is wasteful; a sampled trim keeps each set near capacity
+        boolean trim = trimSampler.getAsBoolean();
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (Period period : Period.values()) {
+                    increment(stringConnection, bookKey(period, day), event.getBookId(), period, trim);
+                    if (event.getGenre() != null) {
+                        increment(stringConnection, genreKey(period, day), event.getGenre(), period, trim);
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            // Leaderboards are best effort and must never fail a checkout
+            log.warn("Could not update loan leaderboards for book {}: {}", event.getBookId(), e.getMessage());
+        }
+    }
+
+    public List<LeaderboardEntry> topBooks(Period period, LocalDate date, int limit) {
+        return top(bookKey(period, date), limit);
+    }
+
+    public List<LeaderboardEntry> topGenres(Period period, LocalDate date, int limit) {
+        return top(genreKey(period, date), limit);
+    }
+
+    private List<LeaderboardEntry> top(String key, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Set<TypedTuple<String>> entries = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1L);
+        if (entries == null) {
+            return List.of();
+        }
+        return entries.stream()
+            .map(entry -> new LeaderboardEntry(entry.getValue(), entry.getScore() == null ? 0 : entry.getScore().longValue()))
+            .toList();
+    }
+
+    private void increment(StringRedisConnection connection, String key, String member, Period period, boolean trim) {
+        connection.zIncrBy(key, 1, member);
+        connection.expire(key, period.retention.toSeconds());
+        if (trim) {
+            connection.zRemRange(key, 0, -(capacity + 1L));
+        }
+    }
+
+    // Namespaced per branch, like the cache keys, so branches keep separate leaderboards
+    private String bookKey(Period period, LocalDate date) {
+        return TenantContext.redisNamespace() + BOOKS_KEY_PREFIX + bucket(period, date);
+    }
+
+    private String genreKey(Period period, LocalDate date) {
+        return TenantContext.redisNamespace() + GENRES_KEY_PREFIX + bucket(period, date);
+    }
+
+    private String bucket(Period period, LocalDate date) {
+        return switch (period) {
+            case DAY -> "day:" + date;
+            case WEEK -> String.format("week:%d-W%02d", date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> String.format("month:%d-%02d", date.getYear(), date.getMonthValue());
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.librarysystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.events.BatchingWriter;
+import com.librarysystem.events.JsonLinesFile;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.model.LoanEventRecord;
+import com.librarysystem.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of loan events, inserted in batches off the request thread. Readers page through
+ * it by {@code sequence}, a per-branch counter reserved right before each insert attempt; a retried
+ * batch is renumbered, so it never lands behind a position a reader has already passed.
+ * <p>
+ * Batches from different instances can still become visible slightly out of order, so events are
+ * only served once they were recorded at least {@code settleWindow} ago. That holds as long as an
+ * insert plus the clock skew between instances stays within the window; slower inserts are logged.
+ * Pages are read from the primary, since a lagging secondary would break the same guarantee.
+ */
+@Service
+public class LoanEventLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanEventLogService.class);
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String SEQUENCE_COLLECTION = "sequences";
+    private static final String SEQUENCE_ID = "loan_events";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final JsonLinesFile spillFile;
+    private final BatchingWriter<PendingRecord> writer;
+    private final Duration settleWindow;
+
+    @Autowired
+    public LoanEventLogService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                               @Value("${library.events.log.batch-size:200}") int batchSize,
+                               @Value("${library.events.log.flush-interval:100ms}") Duration flushInterval,
+                               @Value("${library.events.log.queue-capacity:10000}") int queueCapacity,
+                               @Value("${library.events.log.max-attempts:5}") int maxAttempts,
+                               @Value("${library.events.log.retry-backoff:200ms}") Duration retryBackoff,
+                               @Value("${library.events.log.spill-path:events/loan-events-spill.jsonl}") String spillPath,
+                               @Value("${library.events.log.settle-window:5s}") Duration settleWindow) {
+        this.mongoTemplate = mongoTemplate;
+        this.settleWindow = settleWindow;
+        this.spillFile = new JsonLinesFile(objectMapper, Path.of(spillPath));
+        this.writer = new BatchingWriter<>("loan-event-log", this::insertBatch, this::spill, batchSize, flushInterval,
+                queueCapacity, maxAttempts, retryBackoff);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanEvent(LoanEvent event) {
+        // Only enqueues; the insert happens on the writer thread together with other pending events
+        writer.submit(new PendingRecord(TenantContext.current(), LoanEventRecord.from(event)));
+    }
+
+    public List<LoanEventRecord> findByLoanId(String loanId) {
+        Query query = Query.query(Criteria.where("loanId").is(loanId)).with(Sort.by("sequence"));
+        return mongoTemplate.find(query, LoanEventRecord.class);
+    }
+
+    public List<LoanEventRecord> findAfter(Long afterSequence, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Criteria criteria = Criteria.where("recordedAt").lt(LocalDateTime.now().minus(settleWindow));
+        if (afterSequence != null) {
+            criteria.and("sequence").gt(afterSequence);
+        }
+        return mongoTemplate.find(Query.query(criteria).with(Sort.by("sequence")).limit(limit), LoanEventRecord.class);
+    }
+
+    /**
+     * Feeds every event recorded after {@code afterSequence} (or all events when null) to the
+     * handler in sequence order, page by page. Returns the sequence of the last event handled so
+     * the caller can resume from there.
+     */
+    public Long replay(Long afterSequence, Consumer<LoanEventRecord> handler) {
+        Long cursor = afterSequence;
+        List<LoanEventRecord> page;
+        do {
+            page = findAfter(cursor, MAX_PAGE_SIZE);
+            for (LoanEventRecord record : page) {
+                handler.accept(record);
+                cursor = record.getSequence();
+            }
+        } while (page.size() == MAX_PAGE_SIZE);
+        return cursor;
+    }
+
+    @Scheduled(fixedDelayString = "${library.events.log.spill-import-interval-ms:60000}")
+    public void importSpilled() {
+        try {
+            int imported = spillFile.importAll(PendingRecord.class, this::insertBatch);
+            if (imported > 0) {
+                log.info("Re-imported {} spilled loan event(s) from {}", imported, spillFile.getPath());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not re-import spilled loan events from {}, retrying later: {}", spillFile.getPath(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        writer.close();
+    }
+
+    private void insertBatch(List<PendingRecord> pending) {
+        // The writer thread has no branch of its own, so each record is inserted into the branch it came from
+        Map<String, List<LoanEventRecord>> byBranch = new LinkedHashMap<>();
+        for (PendingRecord entry : pending) {
+            byBranch.computeIfAbsent(entry.branch(), branch -> new ArrayList<>()).add(entry.record());
+        }
+        byBranch.forEach((branch, records) -> TenantContext.runAs(branch, () -> insertNumbered(records)));
+    }
+
+    private void insertNumbered(List<LoanEventRecord> records) {
+        long started = System.nanoTime();
+        long sequence = reserveSequences(records.size());
+        LocalDateTime recordedAt = LocalDateTime.now();
+        for (LoanEventRecord record : records) {
+            record.setSequence(sequence++);
+            record.setRecordedAt(recordedAt);
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoanEventRecord.class).insert(records).execute();
+        } catch (BulkOperationException e) {
+            // Records stored by an earlier attempt keep their first number
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        if (elapsed.compareTo(settleWindow) > 0) {
+            log.warn("Inserting {} loan event(s) took {} ms, longer than the settle window; readers may have skipped them",
+                    records.size(), elapsed.toMillis());
+        }
+    }
+
+    // Reserves count consecutive numbers and returns the first
+    private long reserveSequences(int count) {
+        Document counter = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(SEQUENCE_ID)),
+                new Update().inc("value", count), FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Document.class, SEQUENCE_COLLECTION);
+        return counter.get("value", Number.class).longValue() - count + 1;
+    }
+
+    private void spill(List<PendingRecord> pending) {
+        // Kept with their branch; importSpilled inserts them once the database is back
+        spillFile.append(pending);
+        log.warn("Spilled {} loan event(s) that could not be inserted to {}", pending.size(), spillFile.getPath());
+    }
+
+    record PendingRecord(String branch, LoanEventRecord record) {
+    }
+}
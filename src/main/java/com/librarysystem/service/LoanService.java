@@ -1,18 +1,36 @@
 package com.librarysystem.service;
 
+import com.librarysystem.cache.BatchCacheLoader;
+import com.librarysystem.model.Book;
+import com.librarysystem.model.Borrower;
 import com.librarysystem.model.Loan;
 import com.librarysystem.model.Loan.LoanStatus;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.model.LoanEvent.EventType;
+import com.librarysystem.model.LoanView;
 import com.librarysystem.repository.LoanRepository;
+import com.librarysystem.routing.ReadFromSecondary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,18 +39,22 @@ public class LoanService {
     private final LoanRepository loanRepository;
     private final BookService bookService;
     private final BorrowerService borrowerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final double DAILY_FINE_RATE = 0.50; // $0.50 per day
-    private static final int MAX_LOANS_PER_BORROWER = 5;
+    static final int MAX_LOANS_PER_BORROWER = 5;
+    private static final Set<String> EXPANDABLE_FIELDS = Set.of("book", "borrower");
 
     @Autowired
-    public LoanService(LoanRepository loanRepository, BookService bookService, BorrowerService borrowerService) {
+    public LoanService(LoanRepository loanRepository, BookService bookService, BorrowerService borrowerService,
+                       ApplicationEventPublisher eventPublisher) {
         this.loanRepository = loanRepository;
         this.bookService = bookService;
         this.borrowerService = borrowerService;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Cacheable(value = "loans", key = "#id")
+    @Cacheable(value = "loans", key = "#id", sync = true)
     public Optional<Loan> findById(String id) {
         return loanRepository.findById(id);
     }
@@ -43,20 +65,41 @@ public class LoanService {
     }
 
     @CachePut(value = "loans", key = "#result.id")
-    public Loan createLoan(String bookId, String borrowerId, LocalDate dueDate) {
+    public Loan createLoan(String bookId, String borrowerId, LocalDate dueDate, String idempotencyKey) {
+        // A retried checkout that already went through gets its loan back instead of a second copy
+        if (idempotencyKey != null) {
+            Optional<Loan> existing = loanRepository.findByIdempotencyKey(idempotencyKey);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+
         validateLoanCreation(bookId, borrowerId);
 
         Loan loan = new Loan();
         loan.setBookId(bookId);
         loan.setBorrowerId(borrowerId);
+        loan.setIdempotencyKey(idempotencyKey);
         if (dueDate != null) {
             loan.setDueDate(dueDate);
         }
 
         // Update book availability
-        bookService.borrowBook(bookId);
-
-        return loanRepository.save(loan);
+        Book book = bookService.borrowBook(bookId);
+
+        Loan savedLoan;
+        try {
+            savedLoan = loanRepository.save(loan);
+        } catch (DuplicateKeyException e) {
+            // A concurrent retry with the same key saved first; inside a transaction the rollback undoes the borrow
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw e;
+            }
+            bookService.returnBook(bookId);
+            return loanRepository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+        }
+        eventPublisher.publishEvent(LoanEvent.of(EventType.CREATED, savedLoan, book.getGenre()));
+        return savedLoan;
     }
 
     @CachePut(value = "loans", key = "#id")
@@ -71,9 +114,11 @@ public class LoanService {
                 calculateFine(loan);
 
                 // Update book availability
-                bookService.returnBook(loan.getBookId());
+                Book book = bookService.returnBook(loan.getBookId());
 
-                return loanRepository.save(loan);
+                Loan savedLoan = loanRepository.save(loan);
+                eventPublisher.publishEvent(LoanEvent.of(EventType.RETURNED, savedLoan, book.getGenre()));
+                return savedLoan;
             })
             .orElseThrow(() -> new RuntimeException("Loan not found with id: " + id));
     }
@@ -93,7 +138,9 @@ public class LoanService {
                 loan.setStatus(LoanStatus.RENEWED);
                 loan.updateTimestamp();
 
-                return loanRepository.save(loan);
+                Loan savedLoan = loanRepository.save(loan);
+                eventPublisher.publishEvent(LoanEvent.of(EventType.RENEWED, savedLoan, null));
+                return savedLoan;
             })
             .orElseThrow(() -> new RuntimeException("Loan not found with id: " + id));
     }
@@ -118,23 +165,52 @@ public class LoanService {
                 loan.setStatus(LoanStatus.OVERDUE);
                 calculateFine(loan);
                 loanRepository.save(loan);
+                eventPublisher.publishEvent(LoanEvent.of(EventType.OVERDUE, loan, null));
             }
         });
         return overdueLoans;
     }
 
+    @ReadFromSecondary
     public List<Loan> findLoansDueSoon(int days) {
         LocalDate today = LocalDate.now();
         LocalDate futureDate = today.plusDays(days);
         return loanRepository.findLoansDueBetween(today, futureDate);
     }
 
+    public List<LoanView> expand(List<Loan> loans, Collection<String> expand) {
+        Set<String> fields = expand.stream()
+            .map(field -> field.trim().toLowerCase(Locale.ROOT))
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toSet());
+        fields.stream()
+            .filter(field -> !EXPANDABLE_FIELDS.contains(field))
+            .findFirst()
+            .ifPresent(field -> {
+                throw new RuntimeException("Unsupported expand value: " + field);
+            });
+
+        // One batched lookup per entity type instead of one per loan
+        Map<String, Book> books = fields.contains("book")
+            ? loadByIds(loans.stream().map(Loan::getBookId).collect(Collectors.toSet()),
+                bookService::findAllByIds, Book::getId)
+            : Map.of();
+        Map<String, Borrower> borrowers = fields.contains("borrower")
+            ? loadByIds(loans.stream().map(Loan::getBorrowerId).collect(Collectors.toSet()),
+                borrowerService::findAllByIds, Borrower::getId)
+            : Map.of();
+
+        return loans.stream()
+            .map(loan -> new LoanView(loan, books.get(loan.getBookId()), borrowers.get(loan.getBorrowerId())))
+            .toList();
+    }
+
     @CacheEvict(value = "loans", key = "#id")
     public void deleteById(String id) {
-        if (!loanRepository.existsById(id)) {
-            throw new RuntimeException("Loan not found with id: " + id);
-        }
+        Loan loan = loanRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Loan not found with id: " + id));
         loanRepository.deleteById(id);
+        eventPublisher.publishEvent(LoanEvent.of(EventType.DELETED, loan, null));
     }
 
     public long getActiveLoanCount(String borrowerId) {
@@ -174,6 +250,18 @@ public class LoanService {
         }
     }
 
+    private <T> Map<String, T> loadByIds(Set<String> ids, Function<Collection<String>, List<T>> loader,
+                                         Function<T, String> idExtractor) {
+        List<String> remaining = new ArrayList<>(ids);
+        remaining.remove(null);
+        Map<String, T> result = new HashMap<>();
+        for (int start = 0; start < remaining.size(); start += BatchCacheLoader.MAX_BATCH_SIZE) {
+            List<String> chunk = remaining.subList(start, Math.min(start + BatchCacheLoader.MAX_BATCH_SIZE, remaining.size()));
+            loader.apply(chunk).forEach(value -> result.put(idExtractor.apply(value), value));
+        }
+        return result;
+    }
+
     private void calculateFine(Loan loan) {
         if (loan.isOverdue()) {
             long daysOverdue = loan.getDaysOverdue();
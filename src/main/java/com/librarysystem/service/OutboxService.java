@@ -0,0 +1,132 @@
+package com.librarysystem.service;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.events.OutboxPublisher;
+import com.librarysystem.events.OutboxRelayLease;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.model.OutboxMessage;
+import com.librarysystem.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Transactional outbox for loan events. The message is inserted by the thread that published the
+ * event, i.e. inside the calling {@code LoanService} method and its MongoDB transaction, so it is
+ * committed together with the loan and book writes. A relay drains the outbox in {@code _id} order
+ * and removes messages only after the publisher accepted them, which gives at-least-once delivery
+ * ordered per borrower. Only the instance holding the relay lease drains a branch.
+ */
+@Service
+@ConditionalOnProperty(name = "library.outbox.enabled", havingValue = "true")
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxPublisher publisher;
+    private final OutboxRelayLease relayLease;
+    private final Duration maxDrainTime;
+    private final List<String> branches;
+
+    @Value("${library.outbox.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${library.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    public OutboxService(MongoTemplate mongoTemplate, OutboxPublisher publisher, OutboxRelayLease relayLease,
+                         TenantProperties tenantProperties,
+                         @Value("${library.mongodb.transactions.enabled:false}") boolean transactionsEnabled) {
+        // Without a transaction a crash between the loan save and the outbox insert loses the event
+        if (!transactionsEnabled) {
+            throw new IllegalStateException(
+                    "library.outbox.enabled=true requires library.mongodb.transactions.enabled=true (MongoDB replica set)");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.publisher = publisher;
+        // With several instances only the lease holder relays, otherwise two relays could reorder a borrower's events
+        this.relayLease = relayLease;
+        this.maxDrainTime = relayLease.getLeaseTime().dividedBy(2);
+        // Every branch database has its own outbox
+        this.branches = tenantProperties.databaseBranches();
+    }
+
+    // The only loan event listener that runs inside the loan's transaction: the message commits or rolls back with it
+    @EventListener
+    public void onLoanEvent(LoanEvent event) {
+        mongoTemplate.insert(OutboxMessage.of(event));
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        if (!relayEnabled) {
+            return;
+        }
+        for (String branch : branches) {
+            TenantContext.runAs(branch, this::relayCurrentBranch);
+        }
+    }
+
+    private void relayCurrentBranch() {
+        try {
+            // The holder keeps the lease across runs, so a branch is relayed by one instance at a time
+            if (relayLease.tryAcquire()) {
+                drain();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed for branch {}, undelivered messages will be retried: {}",
+                    TenantContext.current() == null ? "default" : TenantContext.current(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void releaseLeases() {
+        for (String branch : branches) {
+            TenantContext.runAs(branch, () -> {
+                try {
+                    relayLease.release();
+                } catch (RuntimeException e) {
+                    log.debug("Could not release outbox relay lease, it expires on its own: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    public int drain() {
+        // Hand over to the next run well before the lease could expire under us
+        long deadline = System.nanoTime() + maxDrainTime.toNanos();
+        int published = 0;
+        List<OutboxMessage> batch;
+        do {
+            Query oldest = new Query().with(Sort.by("_id")).limit(batchSize);
+            batch = mongoTemplate.find(oldest, OutboxMessage.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            publisher.publish(batch);
+            List<String> ids = batch.stream().map(OutboxMessage::getId).toList();
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), OutboxMessage.class);
+            published += batch.size();
+        } while (batch.size() == batchSize && System.nanoTime() < deadline);
+        return published;
+    }
+
+    public long pending() {
+        return mongoTemplate.count(new Query(), OutboxMessage.class);
+    }
+}
@@ -0,0 +1,174 @@
+package com.librarysystem.service;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.model.Author;
+import com.librarysystem.model.Book;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.model.Suggestion;
+import com.librarysystem.repository.AuthorRepository;
+import com.librarysystem.repository.BookRepository;
+import com.librarysystem.search.BranchIndexes;
+import com.librarysystem.search.SuggestionTrie;
+import com.librarysystem.tenant.TenantContext;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Type-ahead over book titles and author names, served from an in-memory trie per library branch.
+ * The tries are built once the application is ready, kept current by the Mongo save/delete
+ * listener and ranked by the number of loans of each book (and of all books by each author).
+ * Each instance only sees its own writes, so the tries are also rebuilt periodically to pick up
+ * writes made through other instances.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final MongoTemplate mongoTemplate;
+    private final TenantProperties tenantProperties;
+
+    private final BranchIndexes<BranchIndex> indexes = new BranchIndexes<>(BranchIndex::new);
+
+    @Autowired
+    public SuggestService(BookRepository bookRepository, AuthorRepository authorRepository, MongoTemplate mongoTemplate,
+                          TenantProperties tenantProperties) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.tenantProperties = tenantProperties;
+    }
+
+    public List<Suggestion> suggest(String prefix, Suggestion.Type type, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return indexes.current().trie.suggest(prefix, type, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${library.search.rebuild-interval-ms:600000}",
+            initialDelayString = "${library.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        for (String branch : tenantProperties.databaseBranches()) {
+            TenantContext.runAs(branch, this::rebuildCurrentBranch);
+        }
+    }
+
+    private void rebuildCurrentBranch() {
+        long start = System.currentTimeMillis();
+        if (indexes.rebuild(this::load)) {
+            log.info("Suggestion index for branch {} built with {} entries in {} ms", BranchIndexes.branchName(),
+                    indexes.current().trie.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private BranchIndex load() {
+        BranchIndex rebuilt = new BranchIndex();
+        List<Book> books = bookRepository.findAll();
+        for (Book book : books) {
+            if (book.getAuthorId() != null) {
+                rebuilt.authorByBook.put(book.getId(), book.getAuthorId());
+            }
+        }
+        loadLoanCounts(rebuilt);
+
+        books.forEach(book -> rebuilt.trie.put(Suggestion.Type.BOOK, book.getId(), book.getTitle(),
+                popularity(rebuilt.bookPopularity, book.getId())));
+        authorRepository.findAll().forEach(author -> rebuilt.trie.put(Suggestion.Type.AUTHOR, author.getId(),
+                author.fullName(), popularity(rebuilt.authorPopularity, author.getId())));
+        return rebuilt;
+    }
+
+    public void indexBook(Book book) {
+        indexes.update(index -> {
+            if (book.getAuthorId() != null) {
+                index.authorByBook.put(book.getId(), book.getAuthorId());
+            }
+            index.trie.put(Suggestion.Type.BOOK, book.getId(), book.getTitle(), popularity(index.bookPopularity, book.getId()));
+        });
+    }
+
+    public void removeBook(String id) {
+        indexes.update(index -> {
+            index.authorByBook.remove(id);
+            index.trie.remove(Suggestion.Type.BOOK, id);
+        });
+    }
+
+    public void indexAuthor(Author author) {
+        indexes.update(index -> index.trie.put(Suggestion.Type.AUTHOR, author.getId(), author.fullName(),
+                popularity(index.authorPopularity, author.getId())));
+    }
+
+    public void removeAuthor(String id) {
+        indexes.update(index -> index.trie.remove(Suggestion.Type.AUTHOR, id));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoanEvent(LoanEvent event) {
+        if (event.getType() != LoanEvent.EventType.CREATED || event.getBookId() == null) {
+            return;
+        }
+        // Replayed after a rebuild that may already have counted it; one extra loan only nudges the ranking
+        indexes.update(index -> {
+            index.bookPopularity.merge(event.getBookId(), 1.0, Double::sum);
+            index.trie.addScore(Suggestion.Type.BOOK, event.getBookId(), 1);
+            String authorId = index.authorByBook.get(event.getBookId());
+            if (authorId != null) {
+                index.authorPopularity.merge(authorId, 1.0, Double::sum);
+                index.trie.addScore(Suggestion.Type.AUTHOR, authorId, 1);
+            }
+        });
+    }
+
+    private void loadLoanCounts(BranchIndex index) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("bookId").count().as("count"));
+        AggregationResults<Document> results = mongoTemplate.aggregate(aggregation, "loans", Document.class);
+        if (results == null) {
+            return;
+        }
+        for (Document row : results.getMappedResults()) {
+            String bookId = row.getString("_id");
+            if (bookId == null) {
+                continue;
+            }
+            double count = ((Number) row.get("count")).doubleValue();
+            index.bookPopularity.put(bookId, count);
+            String authorId = index.authorByBook.get(bookId);
+            if (authorId != null) {
+                index.authorPopularity.merge(authorId, count, Double::sum);
+            }
+        }
+    }
+
+    private static double popularity(Map<String, Double> counts, String id) {
+        return counts.getOrDefault(id, 0.0);
+    }
+
+    private static final class BranchIndex {
+        private final Map<String, Double> bookPopularity = new ConcurrentHashMap<>();
+        private final Map<String, Double> authorPopularity = new ConcurrentHashMap<>();
+        private final Map<String, String> authorByBook = new ConcurrentHashMap<>();
+        private final SuggestionTrie trie = new SuggestionTrie();
+    }
+}
@@ -0,0 +1,59 @@
+package com.librarysystem.startup;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Marks every bean declared by a class under one of the given prefixes as lazy, so that rarely used
+ * infrastructure (OpenAPI scanning, Swagger UI) is built on first use instead of during startup.
+ * Prefixes match either the bean class or, for {@code @Bean} methods, the declaring configuration class.
+ */
+public class LazyBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> prefixes;
+
+    public LazyBeanFactoryPostProcessor(List<String> prefixes) {
+        this.prefixes = prefixes.stream().map(String::trim).filter(prefix -> !prefix.isEmpty()).toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE || !definition.isSingleton()) {
+                continue;
+            }
+            if (matches(definition.getBeanClassName()) || matches(declaringClassName(definition))) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(String className) {
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
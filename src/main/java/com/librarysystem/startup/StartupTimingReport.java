@@ -0,0 +1,59 @@
+package com.librarysystem.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs where startup time went once the application is ready: the top-level phases and the slowest
+ * individual steps recorded by {@link BufferingApplicationStartup}. Durations are inclusive of nested steps.
+ */
+public class StartupTimingReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingReport.class);
+
+    private final int slowestSteps;
+
+    public StartupTimingReport(int slowestSteps) {
+        this.slowestSteps = slowestSteps;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Ready to serve requests {} ms after JVM start ({} ms in SpringApplication.run)",
+                uptime, event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis());
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        List<TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+        events.stream()
+                .filter(step -> step.getStartupStep().getParentId() == null)
+                .forEach(step -> log.info("  phase {} ms  {}", step.getDuration().toMillis(), describe(step.getStartupStep())));
+        events.stream()
+                .filter(step -> step.getStartupStep().getParentId() != null)
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(slowestSteps)
+                .forEach(step -> log.info("  step  {} ms  {}", step.getDuration().toMillis(), describe(step.getStartupStep())));
+    }
+
+    private String describe(StartupStep step) {
+        String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", "));
+        return tags.isEmpty() ? step.getName() : step.getName() + " [" + tags + "]";
+    }
+}
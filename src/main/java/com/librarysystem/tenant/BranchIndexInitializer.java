@@ -0,0 +1,65 @@
+package com.librarysystem.tenant;
+
+import com.librarysystem.config.TenantProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the mapped indexes (unique borrower email, phonetic keys, loan lookups, ...) in every
+ * branch database. Spring Data's automatic index creation only reaches the default database, so
+ * without this a branch would accept duplicate emails and scan on every lookup.
+ */
+@Component
+public class BranchIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BranchIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final TenantProperties tenantProperties;
+    private final boolean autoIndexCreation;
+
+    @Autowired
+    public BranchIndexInitializer(MongoTemplate mongoTemplate, MongoMappingContext mappingContext,
+                                  TenantProperties tenantProperties,
+                                  @Value("${spring.data.mongodb.auto-index-creation:false}") boolean autoIndexCreation) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.tenantProperties = tenantProperties;
+        this.autoIndexCreation = autoIndexCreation;
+    }
+
+    // Runs before the web server starts, so no branch request is served without its indexes
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!autoIndexCreation || !tenantProperties.isEnabled()) {
+            return;
+        }
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (String branch : tenantProperties.getBranches().keySet()) {
+            TenantContext.runAs(branch, () -> createIndexes(resolver));
+            log.info("Ensured indexes for library branch {}", branch);
+        }
+    }
+
+    private void createIndexes(IndexResolver resolver) {
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            resolver.resolveIndexFor(entity.getType()).forEach(indexOps::ensureIndex);
+        }
+    }
+}
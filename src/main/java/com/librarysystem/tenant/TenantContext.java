@@ -0,0 +1,56 @@
+package com.librarysystem.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The library branch the current thread works for. No branch means the default branch, which keeps
+ * the original database and Redis key layout, so a single-branch deployment is unaffected.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String branch) {
+        if (branch == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(branch);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callAs(String branch, Supplier<T> action) {
+        String previous = CURRENT.get();
+        set(branch);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    public static void runAs(String branch, Runnable action) {
+        callAs(branch, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Prefix for Redis keys owned by the current branch; empty for the default branch.
+     */
+    public static String redisNamespace() {
+        String branch = CURRENT.get();
+        return branch == null ? "" : "branch:" + branch + ":";
+    }
+}
@@ -0,0 +1,86 @@
+package com.librarysystem.tenant;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes every database lookup to the branch bound to the current thread by {@link TenantContext}.
+ * {@code MongoTemplate} asks its factory for the database on each operation, so one template and
+ * one set of repositories serve all branches. Branches on the same cluster share a pooled client.
+ */
+public class TenantRoutingMongoDatabaseFactory implements MongoDatabaseFactory, DisposableBean {
+
+    private final MongoDatabaseFactory defaultFactory;
+    private final Map<String, MongoDatabaseFactory> branchFactories;
+    private final List<MongoClient> ownedClients;
+
+    public TenantRoutingMongoDatabaseFactory(MongoDatabaseFactory defaultFactory, Map<String, MongoDatabaseFactory> branchFactories,
+                                             List<MongoClient> ownedClients) {
+        this.defaultFactory = defaultFactory;
+        this.branchFactories = Map.copyOf(branchFactories);
+        this.ownedClients = List.copyOf(ownedClients);
+    }
+
+    public Set<String> getBranches() {
+        return branchFactories.keySet();
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return current().getMongoDatabase();
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return current().getMongoDatabase(dbName);
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return defaultFactory.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return current().getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return current().getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        // A session belongs to one client, so it is pinned to the branch that opened it
+        return current().withSession(session);
+    }
+
+    @Override
+    public void destroy() {
+        ownedClients.forEach(MongoClient::close);
+    }
+
+    MongoDatabaseFactory current() {
+        String branch = TenantContext.current();
+        if (branch == null) {
+            return defaultFactory;
+        }
+        MongoDatabaseFactory factory = branchFactories.get(branch);
+        if (factory == null) {
+            throw new IllegalStateException("Unknown library branch: " + branch);
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,104 @@
+package com.librarysystem.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request time accumulation for the {@code Server-Timing} response header. A request that asked
+ * for timings gets one accumulator bound to its thread; recording only adds to its fixed slots, so
+ * there are no locks and no allocation per event, and without an accumulator recording is a no-op.
+ * Work done on other threads is not counted.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    public enum Category {
+        CACHE("cache", "ops"),
+        MONGO("mongo", "queries"),
+        SERIALIZATION("serialization", null);
+
+        private final String metric;
+        private final String unit;
+
+        Category(String metric, String unit) {
+            this.metric = metric;
+            this.unit = unit;
+        }
+    }
+
+    private static final ThreadLocal<Timings> CURRENT = new ThreadLocal<>();
+
+    private ServerTiming() {
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Start time for {@link #stop}, or 0 when the current request is not being timed.
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    public static void stop(Category category, long start) {
+        if (start != 0) {
+            record(category, System.nanoTime() - start);
+        }
+    }
+
+    public static void record(Category category, long nanos) {
+        Timings timings = CURRENT.get();
+        if (timings != null) {
+            timings.nanos[category.ordinal()] += nanos;
+            timings.counts[category.ordinal()]++;
+        }
+    }
+
+    static void begin() {
+        CURRENT.set(new Timings(System.nanoTime()));
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Header value for everything recorded so far, plus the total time since the request started.
+     */
+    public static String headerValue() {
+        Timings timings = CURRENT.get();
+        if (timings == null) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder(128);
+        for (Category category : Category.values()) {
+            int count = timings.counts[category.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            value.append(category.metric).append(";dur=").append(millis(timings.nanos[category.ordinal()]));
+            if (category.unit != null) {
+                value.append(";desc=\"").append(count).append(' ').append(category.unit).append('"');
+            }
+            value.append(", ");
+        }
+        return value.append("total;dur=").append(millis(System.nanoTime() - timings.startedAt)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static final class Timings {
+
+        private final long startedAt;
+        private final long[] nanos = new long[Category.values().length];
+        private final int[] counts = new int[Category.values().length];
+
+        private Timings(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.librarysystem.timing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds each MongoDB command to the calling request's {@code mongo} timing. The synchronous driver
+ * reports completion on the thread that ran the command.
+ */
+public class ServerTimingCommandListener implements CommandListener {
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        ServerTiming.record(ServerTiming.Category.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        ServerTiming.record(ServerTiming.Category.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
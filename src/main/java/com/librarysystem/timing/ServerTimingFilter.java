@@ -0,0 +1,43 @@
+package com.librarysystem.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times requests that opt in with the request header (any value except {@code false}/{@code off}).
+ * JSON bodies get the {@code Server-Timing} header from {@link TimedJsonConverter} just before they
+ * are written; responses without such a body get it here, if they are not committed yet.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final String requestHeader;
+
+    public ServerTimingFilter(String requestHeader) {
+        this.requestHeader = requestHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String flag = request.getHeader(requestHeader);
+        if (flag == null || flag.equalsIgnoreCase("false") || flag.equalsIgnoreCase("off")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming.begin();
+        try {
+            chain.doFilter(request, response);
+            if (!response.isCommitted() && !response.containsHeader(ServerTiming.HEADER)) {
+                response.setHeader(ServerTiming.HEADER, ServerTiming.headerValue());
+            }
+        } finally {
+            ServerTiming.end();
+        }
+    }
+}
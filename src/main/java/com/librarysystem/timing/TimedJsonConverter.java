@@ -0,0 +1,48 @@
+package com.librarysystem.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that, for timed requests, serializes into a buffer first so the serialization time
+ * can still go into the {@code Server-Timing} header before the body is sent. Untimed requests are
+ * streamed as usual.
+ */
+public class TimedJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJsonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!ServerTiming.isActive()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long start = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        ServerTiming.record(ServerTiming.Category.SERIALIZATION, System.nanoTime() - start);
+        outputMessage.getHeaders().set(ServerTiming.HEADER, ServerTiming.headerValue());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
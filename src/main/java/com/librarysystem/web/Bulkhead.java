@@ -0,0 +1,63 @@
+package com.librarysystem.web;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of requests of one workload class running at the same time. Callers that
+ * find it full wait in a bounded queue for at most {@code maxWait}; beyond the queue size
+ * they are turned away immediately.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, Duration maxWait) {
+        if (maxConcurrent < 1 || maxQueue < 0) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs at least one permit and a non-negative queue");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+}
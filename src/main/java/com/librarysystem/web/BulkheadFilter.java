@@ -0,0 +1,60 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Runs each endpoint group inside its own bulkhead, so a burst of reports can occupy at most
+ * its share of worker threads (and with them MongoDB connections) and never the capacity
+ * that checkout needs. Groups without a bulkhead are not restricted.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final EndpointClassifier classifier;
+    private final Map<EndpointGroup, Bulkhead> bulkheads;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(EndpointClassifier classifier, Map<EndpointGroup, Bulkhead> bulkheads, ObjectMapper objectMapper) {
+        this.classifier = classifier;
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = bulkheads.get(classifier.classify(request));
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            FilterErrors.write(response, objectMapper, request, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many concurrent " + bulkhead.getName() + " requests, please retry shortly");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.web.ConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load with an immediate 503 once the adaptive concurrency limit is reached, instead of
+ * letting requests queue for worker threads and MongoDB connections.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final EndpointClassifier classifier;
+    private final ConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(EndpointClassifier classifier, ConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        this.classifier = classifier;
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = classifier.classify(request);
+        long start = limiter.tryAcquire(priorityOf(group));
+        if (start < 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            FilterErrors.write(response, objectMapper, request, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Server is overloaded, please retry shortly");
+            return;
+        }
+
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            limiter.release(group, start, dropped);
+        }
+    }
+
+    private Priority priorityOf(EndpointGroup group) {
+        return switch (group) {
+            case CHECKOUT -> Priority.CRITICAL;
+            case SEARCH, EXPORT -> Priority.SHEDDABLE;
+            case DEFAULT -> Priority.NORMAL;
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.librarysystem.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits requests while fewer than the adaptive limit are in flight. Lower priorities may only
+ * use a share of the limit, so they are rejected first as it shrinks and the remaining
+ * headroom stays available to critical requests.
+ */
+public class ConcurrencyLimiter {
+
+    public enum Priority {
+        CRITICAL,
+        NORMAL,
+        SHEDDABLE
+    }
+
+    private final VegasLimit limit;
+    private final double normalShare;
+    private final double sheddableShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimiter(VegasLimit limit, double normalShare, double sheddableShare) {
+        this.limit = limit;
+        this.normalShare = normalShare;
+        this.sheddableShare = sheddableShare;
+    }
+
+    /**
+     * Returns the admission start time to pass to {@link #release}, or -1 when the request is rejected.
+     */
+    public long tryAcquire(Priority priority) {
+        int allowed = allowedFor(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+        }
+    }
+
+    public void release(EndpointGroup group, long startNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        limit.onSample(group, System.nanoTime() - startNanos, current, dropped);
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private int allowedFor(Priority priority) {
+        int current = limit.getLimit();
+        return switch (priority) {
+            case CRITICAL -> current;
+            case NORMAL -> Math.max(1, (int) (current * normalShare));
+            case SHEDDABLE -> Math.max(1, (int) (current * sheddableShare));
+        };
+    }
+}
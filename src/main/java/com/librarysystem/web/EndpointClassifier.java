@@ -0,0 +1,45 @@
+package com.librarysystem.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class EndpointClassifier {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public EndpointClassifier(Map<EndpointGroup, List<String>> patterns) {
+        for (EndpointGroup group : EndpointGroup.values()) {
+            for (String entry : patterns.getOrDefault(group, List.of())) {
+                String trimmed = entry.trim();
+                int space = trimmed.indexOf(' ');
+                String method = space > 0 ? trimmed.substring(0, space).toUpperCase() : null;
+                String path = space > 0 ? trimmed.substring(space + 1).trim() : trimmed;
+                rules.add(new Rule(group, method, PathPatternParser.defaultInstance.parse(path)));
+            }
+        }
+    }
+
+    public EndpointGroup classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return classify(request.getMethod(), path);
+    }
+
+    public EndpointGroup classify(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method)) && rule.pattern().matches(container)) {
+                return rule.group();
+            }
+        }
+        return EndpointGroup.DEFAULT;
+    }
+
+    private record Rule(EndpointGroup group, String method, PathPattern pattern) {
+    }
+}
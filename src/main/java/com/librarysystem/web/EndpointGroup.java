@@ -0,0 +1,12 @@
+package com.librarysystem.web;
+
+/**
+ * Traffic classes used by the request filters, in matching order: the first group whose
+ * patterns match a request wins and unmatched requests fall into {@link #DEFAULT}.
+ */
+public enum EndpointGroup {
+    CHECKOUT,
+    EXPORT,
+    SEARCH,
+    DEFAULT
+}
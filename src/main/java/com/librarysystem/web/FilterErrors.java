@@ -0,0 +1,30 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes the same error body as {@code GlobalExceptionHandler} for requests rejected before
+ * they reach a controller.
+ */
+final class FilterErrors {
+
+    private FilterErrors() {
+    }
+
+    static void write(HttpServletResponse response, ObjectMapper objectMapper, HttpServletRequest request,
+                      HttpStatus status, String message) throws IOException {
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), status.value(), status.getReasonPhrase(),
+                message, request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
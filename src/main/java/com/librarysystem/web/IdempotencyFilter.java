@@ -0,0 +1,244 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.config.IdempotencyProperties;
+import com.librarysystem.exception.GlobalExceptionHandler.ErrorResponse;
+import com.librarysystem.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes mutations carrying an {@code Idempotency-Key} header safe to retry: the first request with
+ * a key runs and its response is stored, retries get that response replayed without running the
+ * controller again. A retry while the first request is still running gets {@code 409}, reusing a
+ * key for a different request (method, path, parameters or body) gets {@code 422}.
+ * <p>
+ * Once the request has reached a controller its outcome is stored whatever the status, server
+ * errors included: a mutation may have been applied before the error, so running it again could
+ * check a copy out twice. A request that throws is stored as a {@code 500} whose outcome is
+ * unknown. Only requests turned away before any controller ran (another filter shedding load, no
+ * matching endpoint) release the key. The claim is renewed while the request runs, so a slow first
+ * request is never executed a second time. If the store is unreachable the request runs as if it
+ * had no key.
+ * <p>
+ * The key is also exposed to the controller as the {@link #KEY_ATTRIBUTE} request attribute, so
+ * the service can record it and refuse to apply the same mutation twice on its own.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public static final String KEY_ATTRIBUTE = IdempotencyFilter.class.getName() + ".KEY";
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService leaseRenewer;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !MUTATING_METHODS.contains(request.getMethod()) || request.getHeader(properties.getHeader()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(properties.getHeader()).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            FilterErrors.write(response, objectMapper, request, HttpStatus.BAD_REQUEST,
+                    properties.getHeader() + " must be 1 to " + properties.getMaxKeyLength() + " characters");
+            return;
+        }
+
+        HttpServletRequest cachedRequest = request;
+        byte[] body = new byte[0];
+        if (!isFormRequest(request)) {
+            int maxBodySize = (int) properties.getMaxBodySize().toBytes();
+            body = request.getInputStream().readNBytes(maxBodySize + 1);
+            if (body.length > maxBodySize) {
+                FilterErrors.write(response, objectMapper, request, HttpStatus.PAYLOAD_TOO_LARGE,
+                        "Requests with " + properties.getHeader() + " may have at most " + maxBodySize + " bytes of body");
+                return;
+            }
+            cachedRequest = new CachedBodyRequest(request, body);
+        }
+        cachedRequest.setAttribute(KEY_ATTRIBUTE, idempotencyKey);
+
+        String key = TenantContext.redisNamespace() + idempotencyKey;
+        String fingerprint = fingerprint(cachedRequest, body);
+        IdempotencyStore.Entry existing;
+        try {
+            existing = store.claim(key, fingerprint, properties.getLease());
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable, running request without deduplication: {}", e.getMessage());
+            chain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        if (existing != null) {
+            respondToRetry(existing, fingerprint, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        ScheduledFuture<?> renewal = scheduleRenewal(key, fingerprint);
+        boolean completed = false;
+        try {
+            chain.doFilter(cachedRequest, wrapper);
+            completed = true;
+        } finally {
+            renewal.cancel(false);
+            if (!reachedController(cachedRequest)) {
+                releaseQuietly(key);
+            } else if (completed) {
+                completeQuietly(key, new IdempotencyStore.Entry(true, fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                        Base64.getEncoder().encodeToString(wrapper.getContentAsByteArray())));
+            } else {
+                completeQuietly(key, unknownOutcome(fingerprint, request));
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        leaseRenewer.shutdownNow();
+    }
+
+    // Set by the handler mapping once a controller method was selected for the request
+    static boolean reachedController(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) != null;
+    }
+
+    private ScheduledFuture<?> scheduleRenewal(String key, String fingerprint) {
+        long period = Math.max(1, properties.getLease().toMillis() / 3);
+        return leaseRenewer.scheduleAtFixedRate(() -> {
+            try {
+                store.extend(key, fingerprint, properties.getLease());
+            } catch (DataAccessException e) {
+                log.debug("Could not renew idempotency lease: {}", e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void respondToRetry(IdempotencyStore.Entry existing, String fingerprint, HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        if (!fingerprint.equals(existing.fingerprint())) {
+            FilterErrors.write(response, objectMapper, request, HttpStatus.UNPROCESSABLE_ENTITY,
+                    properties.getHeader() + " was already used for a different request");
+            return;
+        }
+        if (!existing.completed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            FilterErrors.write(response, objectMapper, request, HttpStatus.CONFLICT,
+                    "A request with this " + properties.getHeader() + " is still being processed");
+            return;
+        }
+
+        response.setStatus(existing.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (existing.contentType() != null) {
+            response.setContentType(existing.contentType());
+        }
+        if (existing.body() != null && !existing.body().isEmpty()) {
+            byte[] body = Base64.getDecoder().decode(existing.body());
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private IdempotencyStore.Entry unknownOutcome(String fingerprint, HttpServletRequest request) throws IOException {
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), status.value(), status.getReasonPhrase(),
+                "The original request failed and may have been applied; check its result before retrying with a new "
+                        + properties.getHeader(), request.getRequestURI());
+        return new IdempotencyStore.Entry(true, fingerprint, status.value(), MediaType.APPLICATION_JSON_VALUE,
+                Base64.getEncoder().encodeToString(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private void completeQuietly(String key, IdempotencyStore.Entry entry) {
+        try {
+            store.complete(key, entry, properties.getTtl());
+        } catch (DataAccessException e) {
+            // The claim expires with its lease; the service still refuses a duplicate checkout by its key
+            log.warn("Could not store idempotent response: {}", e.getMessage());
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            store.release(key);
+        } catch (DataAccessException e) {
+            // The claim expires with its lease
+            log.warn("Could not release idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private boolean isFormRequest(HttpServletRequest request) {
+        // Form bodies are read by the container into the parameters, which the fingerprint covers
+        return request.getContentType() != null
+                && request.getContentType().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    // Method and path in clear for logs, parameters (query and form) and body as a hash
+    static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+            parameters.forEach((name, values) -> {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                for (String value : values) {
+                    digest.update((byte) '=');
+                    digest.update(value.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) '&');
+            });
+            digest.update((byte) '\n');
+            digest.update(body);
+            return request.getMethod() + " " + request.getRequestURI() + " " + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
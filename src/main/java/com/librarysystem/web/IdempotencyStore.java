@@ -0,0 +1,36 @@
+package com.librarysystem.web;
+
+import java.time.Duration;
+
+public interface IdempotencyStore {
+
+    /**
+     * Claims {@code key} for a new execution for at most {@code lease}. Returns null when the claim
+     * succeeded, otherwise the entry already held under the key.
+     */
+    Entry claim(String key, String fingerprint, Duration lease);
+
+    /**
+     * Renews a claim that is still in progress for {@code fingerprint}. Returns false when the key
+     * has since been completed, released or has expired.
+     */
+    boolean extend(String key, String fingerprint, Duration lease);
+
+    /**
+     * Replaces the claim with the finished response, kept for {@code ttl}.
+     */
+    void complete(String key, Entry response, Duration ttl);
+
+    /**
+     * Drops the claim so the request can be retried, e.g. after a server error.
+     */
+    void release(String key);
+
+    // The body is Base64 encoded, so any response is replayed byte for byte
+    record Entry(boolean completed, String fingerprint, int status, String contentType, String body) {
+
+        public static Entry inProgress(String fingerprint) {
+            return new Entry(false, fingerprint, 0, null, null);
+        }
+    }
+}
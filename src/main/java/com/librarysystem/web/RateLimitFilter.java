@@ -0,0 +1,112 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Token-bucket limits per client and endpoint group. Responses carry the
+ * {@code RateLimit-Limit/Remaining/Reset} headers; rejected requests get 429 with {@code Retry-After}.
+ * <p>
+ * A client is its API key when the key is one of the configured ones, otherwise its IP address.
+ * Behind a proxy the address comes from {@code server.forward-headers-strategy}, which only
+ * believes {@code X-Forwarded-For} from trusted proxies.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final EndpointClassifier classifier;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Set<String> apiKeyHashes;
+
+    public RateLimitFilter(EndpointClassifier classifier, RateLimiter rateLimiter,
+                           RateLimitProperties properties, ObjectMapper objectMapper) {
+        properties.getGroups().forEach((group, limit) -> {
+            String prefix = "library.rate-limit.groups." + group.name().toLowerCase(Locale.ROOT);
+            if (limit.getCapacity() < 1) {
+                throw new IllegalStateException(prefix + ".capacity must be at least 1");
+            }
+            // The bucket computes its reset and retry times by dividing by the refill rate
+            if (!(limit.getRefillPerSecond() > 0)) {
+                throw new IllegalStateException(prefix + ".refill-per-second must be positive");
+            }
+        });
+        this.apiKeyHashes = properties.getApiKeys().stream()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .map(RateLimitFilter::sha256)
+                .collect(Collectors.toUnmodifiableSet());
+        this.classifier = classifier;
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = classifier.classify(request);
+        RateLimitProperties.Limit limit = properties.getGroups().get(group);
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = group.name().toLowerCase(Locale.ROOT) + ":" + clientId(request);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(key, limit.getCapacity(), limit.getRefillPerSecond());
+        response.setHeader("RateLimit-Limit", Long.toString(limit.getCapacity()));
+        response.setHeader("RateLimit-Remaining", Long.toString(decision.remaining()));
+        response.setHeader("RateLimit-Reset", Long.toString(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, decision.retryAfterSeconds())));
+            FilterErrors.write(response, objectMapper, request, HttpStatus.TOO_MANY_REQUESTS,
+                    "Rate limit exceeded for " + group.name().toLowerCase(Locale.ROOT) + " requests");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        if (apiKey != null && !apiKey.isBlank()) {
+            // Keys are hashed so they never show up in bucket names or Redis; made-up keys would get
+            // a fresh bucket each, so only configured ones count
+            String hash = sha256(apiKey.trim());
+            if (apiKeyHashes.contains(hash)) {
+                return "key:" + hash;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.librarysystem.web;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket identified by {@code key}, creating it full when unknown.
+     */
+    Decision tryAcquire(String key, long capacity, double refillPerSecond);
+
+    record Decision(boolean allowed, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+}
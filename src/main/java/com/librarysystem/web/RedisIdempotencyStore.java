@@ -0,0 +1,80 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency entries as JSON strings in Redis: the claim is a {@code SET NX} with the lease as
+ * expiry, the finished response overwrites it with the longer retention TTL.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private static final RedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Entry claim(String key, String fingerprint, Duration lease) {
+        String claim = write(Entry.inProgress(fingerprint));
+        // The existing entry can expire between the two calls; then the second attempt claims it
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, claim, lease))) {
+                return null;
+            }
+            String existing = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            if (existing != null) {
+                return read(existing);
+            }
+        }
+        return Entry.inProgress(fingerprint);
+    }
+
+    @Override
+    public boolean extend(String key, String fingerprint, Duration lease) {
+        Long renewed = redisTemplate.execute(EXTEND_SCRIPT, List.of(KEY_PREFIX + key),
+                write(Entry.inProgress(fingerprint)), Long.toString(lease.toMillis()));
+        return renewed != null && renewed == 1L;
+    }
+
+    @Override
+    public void complete(String key, Entry response, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + key, write(response), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+
+    private String write(Entry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotency entry", e);
+        }
+    }
+
+    private Entry read(String json) {
+        try {
+            return objectMapper.readValue(json, Entry.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read idempotency entry", e);
+        }
+    }
+}
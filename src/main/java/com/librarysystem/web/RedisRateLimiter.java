@@ -0,0 +1,75 @@
+package com.librarysystem.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Token buckets shared by all instances, refilled and consumed atomically in a Lua script using
+ * the Redis clock. Falls back to the local table while Redis is unreachable.
+ */
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2]) / 1000
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil then
+              tokens = capacity
+              ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local allowed = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+            return {allowed, math.floor(tokens), math.ceil((capacity - tokens) / rate), math.ceil(math.max(0, 1 - tokens) / rate)}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter fallback;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, long capacity, double refillPerSecond) {
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(KEY_PREFIX + key),
+                    Long.toString(capacity), Double.toString(refillPerSecond));
+            if (result != null && result.size() == 4) {
+                return new Decision(
+                        ((Number) result.get(0)).longValue() == 1,
+                        ((Number) result.get(1)).longValue(),
+                        toSeconds(result.get(2)),
+                        toSeconds(result.get(3)));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limiter unavailable, using local buckets: {}", e.getMessage());
+        }
+        return fallback.tryAcquire(key, capacity, refillPerSecond);
+    }
+
+    private long toSeconds(Object millis) {
+        return (((Number) millis).longValue() + 999) / 1000;
+    }
+}
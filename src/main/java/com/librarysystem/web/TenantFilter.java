@@ -0,0 +1,54 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Binds the library branch named in the request header to the request thread, so MongoDB access
+ * and cache keys resolve to that branch. Unknown branches are rejected before any work is done.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final String header;
+    private final String defaultBranch;
+    private final Set<String> branches;
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(String header, String defaultBranch, Set<String> branches, ObjectMapper objectMapper) {
+        this.header = header;
+        this.defaultBranch = defaultBranch;
+        this.branches = Set.copyOf(branches);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String branch = request.getHeader(header);
+        if (branch == null || branch.isBlank() || branch.trim().equals(defaultBranch)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        branch = branch.trim();
+        if (!branches.contains(branch)) {
+            FilterErrors.write(response, objectMapper, request, HttpStatus.BAD_REQUEST, "Unknown library branch: " + branch);
+            return;
+        }
+
+        TenantContext.set(branch);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.librarysystem.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token buckets. Keys are spread over independently locked stripes so that
+ * concurrent requests from different clients rarely contend; each stripe keeps at most
+ * {@code maxBucketsPerStripe} buckets and drops the least recently used one beyond that.
+ */
+public class TokenBucketTable implements RateLimiter {
+
+    private final Stripe[] stripes;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketTable(int stripes, int maxBucketsPerStripe) {
+        this(stripes, maxBucketsPerStripe, System::nanoTime);
+    }
+
+    TokenBucketTable(int stripes, int maxBucketsPerStripe, LongSupplier nanoClock) {
+        if (stripes < 1 || maxBucketsPerStripe < 1) {
+            throw new IllegalArgumentException("Stripes and buckets per stripe must be positive");
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(maxBucketsPerStripe);
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, long capacity, double refillPerSecond) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        stripe.lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                double elapsedSeconds = (double) (now - bucket.lastRefill) / TimeUnit.SECONDS.toNanos(1);
+                bucket.tokens = Math.min(capacity, bucket.tokens + elapsedSeconds * refillPerSecond);
+                bucket.lastRefill = now;
+            }
+
+            boolean allowed = bucket.tokens >= 1;
+            if (allowed) {
+                bucket.tokens -= 1;
+            }
+            long resetSeconds = (long) Math.ceil((capacity - bucket.tokens) / refillPerSecond);
+            long retryAfterSeconds = allowed ? 0 : (long) Math.ceil((1 - bucket.tokens) / refillPerSecond);
+            return new Decision(allowed, (long) Math.floor(bucket.tokens), resetSeconds, retryAfterSeconds);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.librarysystem.web;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Concurrency limit estimated TCP Vegas style: the ratio between the lowest latency seen
+ * (no queueing) and the latest sample tells how many requests are queued in the backend.
+ * Few queued requests grow the limit, many shrink it. The baseline is re-measured from time
+ * to time so a backend that became permanently slower does not pin the limit at its minimum.
+ * <p>
+ * The limit is shared, but each endpoint group keeps its own baseline: an export is always far
+ * slower than a checkout, and measured against the fastest request of any kind it would read as
+ * queueing and drive the limit down to its minimum.
+ */
+public class VegasLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int probeMultiplier;
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private final Map<EndpointGroup, Baseline> baselines = new EnumMap<>(EndpointGroup.class);
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, int probeMultiplier) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.probeMultiplier = probeMultiplier;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.estimatedLimit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public synchronized void onSample(EndpointGroup group, long rttNanos, int inFlight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        Baseline baseline = baselines.computeIfAbsent(group, g -> new Baseline((long) probeMultiplier * limit));
+        if (--baseline.samplesUntilProbe <= 0) {
+            baseline.samplesUntilProbe = (long) probeMultiplier * limit;
+            baseline.rttNoLoad = rttNanos;
+            return;
+        }
+        if (baseline.rttNoLoad == 0 || rttNanos < baseline.rttNoLoad) {
+            baseline.rttNoLoad = rttNanos;
+            return;
+        }
+        long rttNoLoad = baseline.rttNoLoad;
+
+        double current = estimatedLimit;
+        double log = Math.max(1, Math.log10(current));
+        double next;
+        if (dropped) {
+            next = current - log;
+        } else if (inFlight * 2 < current) {
+            // Not using half the limit: latency says nothing about whether more would fit
+            return;
+        } else {
+            double queued = Math.ceil(current * (1 - (double) rttNoLoad / rttNanos));
+            if (queued <= log) {
+                next = current + 6 * log;
+            } else if (queued < 3 * log) {
+                next = current + log;
+            } else if (queued > 6 * log) {
+                next = current - log;
+            } else {
+                return;
+            }
+        }
+
+        next = Math.max(minLimit, Math.min(maxLimit, next));
+        estimatedLimit = (1 - smoothing) * current + smoothing * next;
+        limit = (int) Math.max(minLimit, Math.round(estimatedLimit));
+    }
+
+    private static final class Baseline {
+        private long rttNoLoad;
+        private long samplesUntilProbe;
+
+        private Baseline(long samplesUntilProbe) {
+            this.samplesUntilProbe = samplesUntilProbe;
+        }
+    }
+}
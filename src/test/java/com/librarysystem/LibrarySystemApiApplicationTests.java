@@ -14,6 +14,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import com.librarysystem.repository.AuthorRepository;
 import com.librarysystem.repository.BookRepository;
 import com.librarysystem.repository.BorrowerRepository;
+import com.librarysystem.repository.CirculationRollupRepository;
 import com.librarysystem.repository.LoanRepository;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = LibrarySystemApiApplication.class)
@@ -41,6 +42,9 @@ class LibrarySystemApiApplicationTests {
 	@MockBean
 	private LoanRepository loanRepository;
 
+	@MockBean
+	private CirculationRollupRepository circulationRollupRepository;
+
 	@Test
 	void contextLoads() {
 		// This test verifies that the application context loads successfully
@@ -0,0 +1,54 @@
+package com.librarysystem.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_ShouldRoundTripEntries() throws Exception {
+        // Given
+        Path file = directory.resolve("snapshot/warm-start.bin");
+        List<CacheSnapshotFile.Entry> entries = List.of(
+                new CacheSnapshotFile.Entry("authors", "a1", "{\"id\":\"a1\"}".getBytes(StandardCharsets.UTF_8)),
+                new CacheSnapshotFile.Entry("loans", "lé", new byte[]{0, 1, 2, 3}));
+
+        Instant takenAt = Instant.parse("2024-06-01T10:15:30Z");
+
+        // When
+        CacheSnapshotFile.write(file, takenAt, entries);
+        CacheSnapshotFile.Snapshot snapshot = CacheSnapshotFile.read(file);
+        List<CacheSnapshotFile.Entry> restored = snapshot.entries();
+
+        // Then
+        assertEquals(takenAt, snapshot.takenAt());
+        assertEquals(2, restored.size());
+        assertEquals("authors", restored.get(0).cacheName());
+        assertEquals("a1", restored.get(0).key());
+        assertArrayEquals(entries.get(0).value(), restored.get(0).value());
+        assertEquals("lé", restored.get(1).key());
+        assertArrayEquals(new byte[]{0, 1, 2, 3}, restored.get(1).value());
+    }
+
+    @Test
+    void read_ShouldRejectFile_WhenItIsNotASnapshot() throws Exception {
+        // Given
+        Path file = directory.resolve("garbage.bin");
+        Files.write(file, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(IOException.class, () -> CacheSnapshotFile.read(file));
+    }
+}
@@ -0,0 +1,117 @@
+package com.librarysystem.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmStartTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+    private static final byte[] VALUE = "{\"id\":\"a1\"}".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private Path snapshotFile;
+    private HotKeyTracker tracker;
+    private CacheWarmStart warmStart;
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = directory.resolve("warm-start.bin");
+        tracker = new HotKeyTracker(Set.of("authors"), 100);
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(10));
+        Map<String, Function<String, Object>> loaders = Map.of("authors", id -> null);
+        warmStart = new CacheWarmStart(connectionFactory, cacheName -> configuration, cacheManager, tracker, loaders,
+                snapshotFile, 10, 1000, Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void run_ShouldRestoreWithRemainingTtl_WhenSnapshotIsRecent() throws Exception {
+        // Given
+        CacheSnapshotFile.write(snapshotFile, NOW.minus(Duration.ofMinutes(2)),
+                List.of(new CacheSnapshotFile.Entry("authors", "a1", VALUE)));
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        // When
+        warmStart.run(null);
+
+        // Then
+        ArgumentCaptor<Expiration> expiration = ArgumentCaptor.forClass(Expiration.class);
+        verify(stringCommands).set(eq("authors::a1".getBytes(StandardCharsets.UTF_8)), eq(VALUE), expiration.capture(),
+                eq(SetOption.ifAbsent()));
+        assertEquals(Duration.ofMinutes(8).toMillis(), expiration.getValue().getExpirationTimeInMilliseconds());
+    }
+
+    @Test
+    void run_ShouldSkipRestore_WhenSnapshotIsOlderThanMaxAge() throws Exception {
+        // Given
+        CacheSnapshotFile.write(snapshotFile, NOW.minus(Duration.ofMinutes(20)),
+                List.of(new CacheSnapshotFile.Entry("authors", "a1", VALUE)));
+
+        // When
+        warmStart.run(null);
+
+        // Then
+        verifyNoInteractions(connectionFactory);
+    }
+
+    @Test
+    void snapshot_ShouldRecordWhenItWasTaken() throws Exception {
+        // Given
+        tracker.record("authors", "a1");
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringCommands.mGet(any(byte[][].class))).thenReturn(List.of(VALUE));
+
+        // When
+        warmStart.snapshot();
+
+        // Then
+        CacheSnapshotFile.Snapshot snapshot = CacheSnapshotFile.read(snapshotFile);
+        assertEquals(NOW, snapshot.takenAt());
+        assertEquals(1, snapshot.entries().size());
+        assertEquals("a1", snapshot.entries().get(0).key());
+    }
+}
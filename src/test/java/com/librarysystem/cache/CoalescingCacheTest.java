@@ -0,0 +1,197 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingCacheTest {
+
+    @Mock
+    private Cache delegate;
+
+    @Mock
+    private RedisLoadLock loadLock;
+
+    @Test
+    void get_ShouldReturnCachedValue_WithoutLoading() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, loadLock);
+        when(delegate.get("isbn1")).thenReturn(new SimpleValueWrapper("Crime and Punishment"));
+
+        // When
+        String result = cache.get("isbn1", () -> fail("should not load"));
+
+        // Then
+        assertEquals("Crime and Punishment", result);
+        verifyNoInteractions(loadLock);
+    }
+
+    @Test
+    void get_ShouldLoadAndPut_WhenNoLockIsConfigured() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, null);
+
+        // When
+        String result = cache.get("isbn1", () -> "Crime and Punishment");
+
+        // Then
+        assertEquals("Crime and Punishment", result);
+        verify(delegate).put("isbn1", "Crime and Punishment");
+    }
+
+    @Test
+    void get_ShouldLoadUnderLock_AndReleaseItWithItsToken_WhenLockIsAcquired() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, loadLock);
+        when(delegate.getName()).thenReturn("books");
+        when(loadLock.tryAcquire("books::isbn1")).thenReturn("token1");
+
+        // When
+        String result = cache.get("isbn1", () -> "Crime and Punishment");
+
+        // Then
+        assertEquals("Crime and Punishment", result);
+        verify(delegate).put("isbn1", "Crime and Punishment");
+        verify(loadLock).release("books::isbn1", "token1");
+    }
+
+    @Test
+    void get_ShouldReuseValue_WhenAnotherInstanceLoadedItBeforeLockWasAcquired() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, loadLock);
+        when(delegate.getName()).thenReturn("books");
+        when(delegate.get("isbn1")).thenReturn(null, new SimpleValueWrapper("Crime and Punishment"));
+        when(loadLock.tryAcquire("books::isbn1")).thenReturn("token1");
+
+        // When
+        String result = cache.get("isbn1", () -> fail("should not load"));
+
+        // Then
+        assertEquals("Crime and Punishment", result);
+        verify(delegate, never()).put(any(), any());
+        verify(loadLock).release("books::isbn1", "token1");
+    }
+
+    @Test
+    void get_ShouldReleaseLock_WhenLoaderFails() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, loadLock);
+        when(delegate.getName()).thenReturn("books");
+        when(loadLock.tryAcquire("books::isbn1")).thenReturn("token1");
+
+        // When & Then
+        Cache.ValueRetrievalException exception = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("isbn1", () -> {
+                    throw new IllegalStateException("Mongo unavailable");
+                }));
+        assertEquals("Mongo unavailable", exception.getCause().getMessage());
+        verify(loadLock).release("books::isbn1", "token1");
+        verify(delegate, never()).put(any(), any());
+    }
+
+    @Test
+    void get_ShouldWaitForOtherInstancesValue_WhenLockIsHeld() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, loadLock);
+        when(delegate.getName()).thenReturn("books");
+        when(delegate.get("isbn1")).thenReturn(null, null, new SimpleValueWrapper("Crime and Punishment"));
+        when(loadLock.tryAcquire("books::isbn1")).thenReturn(null);
+        when(loadLock.getWaitTime()).thenReturn(Duration.ofSeconds(5));
+
+        // When
+        String result = cache.get("isbn1", () -> fail("should not load"));
+
+        // Then
+        assertEquals("Crime and Punishment", result);
+        verify(delegate, times(3)).get("isbn1");
+        verify(loadLock, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void get_ShouldLoadItself_WhenLockHolderDoesNotFinishInTime() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, loadLock);
+        when(delegate.getName()).thenReturn("books");
+        when(loadLock.tryAcquire("books::isbn1")).thenReturn(null);
+        when(loadLock.getWaitTime()).thenReturn(Duration.ofMillis(60));
+
+        // When
+        String result = cache.get("isbn1", () -> "Crime and Punishment");
+
+        // Then
+        assertEquals("Crime and Punishment", result);
+        verify(delegate, atLeast(2)).get("isbn1");
+        verify(delegate).put("isbn1", "Crime and Punishment");
+        verify(loadLock, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void get_ShouldNamespaceLockByBranch_WhenBranchIsSet() {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, loadLock);
+        when(delegate.getName()).thenReturn("books");
+        when(loadLock.tryAcquire("branch:north:books::isbn1")).thenReturn("token1");
+
+        // When
+        String result = TenantContext.callAs("north", () -> cache.get("isbn1", () -> "Crime and Punishment"));
+
+        // Then
+        assertEquals("Crime and Punishment", result);
+        verify(loadLock).release("branch:north:books::isbn1", "token1");
+    }
+
+    @Test
+    void get_ShouldShareLoadWithinBranch_ButNotAcrossBranches() throws Exception {
+        // Given
+        CoalescingCache cache = new CoalescingCache(delegate, null);
+        AtomicInteger defaultLoads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            // When
+            Future<String> first = executor.submit(() -> cache.get("isbn1", () -> {
+                defaultLoads.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await();
+                return "default value";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.get("isbn1", () -> {
+                defaultLoads.incrementAndGet();
+                return "unexpected";
+            }));
+            Future<String> north = executor.submit(() -> TenantContext.callAs("north",
+                    () -> cache.get("isbn1", () -> "north value")));
+
+            // Then
+            assertEquals("north value", north.get(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            releaseLoader.countDown();
+            assertEquals("default value", first.get(5, TimeUnit.SECONDS));
+            assertEquals("default value", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, defaultLoads.get());
+            assertEquals(0, cache.inFlightLoads());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
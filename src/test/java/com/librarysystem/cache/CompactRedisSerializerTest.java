@@ -0,0 +1,148 @@
+package com.librarysystem.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.librarysystem.model.Author;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.Loan;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer authorSerializer = new CompactRedisSerializer(Author.class, 512);
+    private final CompactRedisSerializer loanSerializer = new CompactRedisSerializer(Loan.class, 512);
+
+    @Test
+    void serialize_ShouldRoundTripSingleValue() {
+        // Given
+        Author author = createAuthor("1");
+
+        // When
+        Object result = authorSerializer.deserialize(authorSerializer.serialize(author));
+
+        // Then
+        assertEquals(author, result);
+    }
+
+    @Test
+    void serialize_ShouldRoundTripListValue() {
+        // Given
+        List<Loan> loans = List.of(createLoan("1"), createLoan("2"));
+
+        // When
+        Object result = loanSerializer.deserialize(loanSerializer.serialize(loans));
+
+        // Then
+        assertInstanceOf(List.class, result);
+        List<?> restored = (List<?>) result;
+        assertEquals(2, restored.size());
+        Loan first = (Loan) restored.get(0);
+        assertEquals("1", first.getId());
+        assertEquals("book1", first.getBookId());
+        assertEquals(loans.get(0).getDueDate(), first.getDueDate());
+    }
+
+    @Test
+    void serialize_ShouldRoundTripNullValue() {
+        // When
+        Object result = authorSerializer.deserialize(authorSerializer.serialize(NullValue.INSTANCE));
+
+        // Then
+        assertSame(NullValue.INSTANCE, result);
+    }
+
+    @Test
+    void serialize_ShouldCompressValuesAboveThreshold() {
+        // Given
+        Author author = createAuthor("1");
+        author.setBiography("A prolific writer of long novels. ".repeat(100));
+        CompactRedisSerializer uncompressed = new CompactRedisSerializer(Author.class, 0);
+
+        // When
+        byte[] compressedBytes = authorSerializer.serialize(author);
+        byte[] plainBytes = uncompressed.serialize(author);
+
+        // Then
+        assertTrue(compressedBytes.length < plainBytes.length / 4);
+        assertEquals(author, authorSerializer.deserialize(compressedBytes));
+    }
+
+    @Test
+    void deserialize_ShouldTreatLegacyJsonAsMiss() {
+        // Given
+        byte[] json = "{\"@class\":\"com.librarysystem.model.Author\",\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        assertNull(authorSerializer.deserialize(json));
+    }
+
+    @Test
+    void serialize_ShouldBeSmallerThanJson() {
+        // Given
+        GenericJackson2JsonRedisSerializer json = createJsonSerializer();
+        CompactRedisSerializer borrowerSerializer = new CompactRedisSerializer(Borrower.class, 512);
+        Author author = createAuthor("64f1c2a9e4b0a1b2c3d4e5f6");
+        Borrower borrower = createBorrower("64f1c2a9e4b0a1b2c3d4e5f7");
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            loans.add(createLoan("64f1c2a9e4b0a1b2c3d4e6" + String.format("%02d", i)));
+        }
+
+        // When & Then
+        assertTrue(authorSerializer.serialize(author).length < json.serialize(author).length);
+        assertTrue(borrowerSerializer.serialize(borrower).length < json.serialize(borrower).length);
+        assertTrue(loanSerializer.serialize(loans).length < json.serialize(loans).length);
+    }
+
+    private GenericJackson2JsonRedisSerializer createJsonSerializer() {
+        // Same typed JSON layout as the default cache configuration, with java.time support for the dates
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    private Author createAuthor(String id) {
+        Author author = new Author();
+        author.setId(id);
+        author.setFirstName("Fyodor");
+        author.setLastName("Dostoevsky");
+        author.setEmail("fyodor.dostoevsky@example.com");
+        author.setNationality("Russian");
+        author.setBirthDate(LocalDate.of(1821, 11, 11));
+        author.setGenres(List.of("Fiction", "Philosophy"));
+        author.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        return author;
+    }
+
+    private Borrower createBorrower(String id) {
+        Borrower borrower = new Borrower();
+        borrower.setId(id);
+        borrower.setFirstName("Jane");
+        borrower.setLastName("Smith");
+        borrower.setEmail("jane.smith@example.com");
+        borrower.setPhoneNumber("+15551234567");
+        borrower.setCity("Springfield");
+        borrower.setCountry("USA");
+        return borrower;
+    }
+
+    private Loan createLoan(String id) {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setBookId("book1");
+        loan.setBorrowerId("borrower1");
+        return loan;
+    }
+}
@@ -0,0 +1,76 @@
+package com.librarysystem.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest {
+
+    @Test
+    void hottest_ShouldOrderKeysByAccessCount() {
+        // Given
+        HotKeyTracker tracker = new HotKeyTracker(Set.of("authors"), 100);
+        record(tracker, "authors", "a1", 1);
+        record(tracker, "authors", "a2", 5);
+        record(tracker, "authors", "a3", 3);
+
+        // When
+        List<String> hottest = tracker.hottest("authors", 2);
+
+        // Then
+        assertEquals(List.of("a2", "a3"), hottest);
+    }
+
+    @Test
+    void record_ShouldIgnoreUntrackedCachesAndNonStringKeys() {
+        // Given
+        HotKeyTracker tracker = new HotKeyTracker(Set.of("authors"), 100);
+
+        // When
+        tracker.record("books", "b1");
+        tracker.record("authors", 42);
+
+        // Then
+        assertTrue(tracker.hottest("books", 10).isEmpty());
+        assertTrue(tracker.hottest("authors", 10).isEmpty());
+    }
+
+    @Test
+    void record_ShouldIgnoreNewKeys_WhenCacheIsFull() {
+        // Given
+        HotKeyTracker tracker = new HotKeyTracker(Set.of("loans"), 2);
+        tracker.record("loans", "l1");
+        tracker.record("loans", "l2");
+
+        // When
+        tracker.record("loans", "l3");
+        tracker.record("loans", "l1");
+
+        // Then
+        assertEquals(List.of("l1", "l2"), tracker.hottest("loans", 10));
+    }
+
+    @Test
+    void decay_ShouldHalveCountsAndForgetColdKeys() {
+        // Given
+        HotKeyTracker tracker = new HotKeyTracker(Set.of("borrowers"), 2);
+        record(tracker, "borrowers", "hot", 4);
+        record(tracker, "borrowers", "cold", 1);
+
+        // When
+        tracker.decay();
+        tracker.record("borrowers", "new");
+
+        // Then
+        assertEquals(List.of("hot", "new"), tracker.hottest("borrowers", 10));
+    }
+
+    private static void record(HotKeyTracker tracker, String cacheName, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(cacheName, key);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.librarysystem.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisLoadLockTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(10);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Test
+    void tryAcquire_ShouldReturnToken_WhenLeaseIsSet() {
+        // Given
+        RedisLoadLock lock = new RedisLoadLock(redisTemplate, LEASE, Duration.ofMillis(500));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("lock:cache-load:books::isbn1"), anyString(), eq(LEASE))).thenReturn(true);
+
+        // When
+        String token = lock.tryAcquire("books::isbn1");
+
+        // Then
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq("lock:cache-load:books::isbn1"), stored.capture(), eq(LEASE));
+        assertNotNull(token);
+        assertEquals(stored.getValue(), token);
+    }
+
+    @Test
+    void tryAcquire_ShouldReturnNull_WhenLockIsHeldElsewhere() {
+        // Given
+        RedisLoadLock lock = new RedisLoadLock(redisTemplate, "lock:test:", LEASE, Duration.ofMillis(500));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("lock:test:books::isbn1"), anyString(), eq(LEASE))).thenReturn(false);
+
+        // When & Then
+        assertNull(lock.tryAcquire("books::isbn1"));
+    }
+
+    @Test
+    void tryAcquire_ShouldIssueDistinctTokens_ForEachAcquisition() {
+        // Given
+        RedisLoadLock lock = new RedisLoadLock(redisTemplate, LEASE, Duration.ofMillis(500));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), eq(LEASE))).thenReturn(true);
+
+        // When & Then
+        assertNotEquals(lock.tryAcquire("books::isbn1"), lock.tryAcquire("books::isbn1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void release_ShouldDeleteOnlyWhenTokenStillMatches() {
+        // Given
+        RedisLoadLock lock = new RedisLoadLock(redisTemplate, LEASE, Duration.ofMillis(500));
+
+        // When
+        lock.release("books::isbn1", "token1");
+
+        // Then
+        ArgumentCaptor<RedisScript<Long>> script = ArgumentCaptor.forClass(RedisScript.class);
+        verify(redisTemplate).execute(script.capture(), eq(List.of("lock:cache-load:books::isbn1")), eq("token1"));
+        String source = script.getValue().getScriptAsString();
+        assertTrue(source.contains("redis.call('get', KEYS[1]) == ARGV[1]"));
+        assertTrue(source.contains("redis.call('del', KEYS[1])"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchCacheKeysTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SearchCacheKeys searchKeys;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        searchKeys = new SearchCacheKeys(redisTemplate);
+    }
+
+    @Test
+    void of_ShouldPrefixNormalizedQueryWithGeneration() {
+        // Given
+        when(valueOperations.get("search:generation:books")).thenReturn("7");
+
+        // When
+        String key = searchKeys.of("books", "  The   Brothers KARAMAZOV ");
+
+        // Then
+        assertEquals("7:the brothers karamazov", key);
+    }
+
+    @Test
+    void of_ShouldStartAtGenerationZero_WhenNothingWasWritten() {
+        // Given
+        when(valueOperations.get("search:generation:authors")).thenReturn(null);
+
+        // When
+        String key = searchKeys.of("authors", null);
+
+        // Then
+        assertEquals("0:", key);
+    }
+
+    @Test
+    void bump_ShouldIncrementGenerationOfTheCurrentBranch() {
+        // When
+        TenantContext.runAs("north", () -> searchKeys.bump("borrowers"));
+
+        // Then
+        verify(valueOperations).increment("branch:north:search:generation:borrowers");
+    }
+}
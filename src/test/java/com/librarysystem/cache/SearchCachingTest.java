@@ -0,0 +1,117 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.model.Book;
+import com.librarysystem.repository.BookRepository;
+import com.librarysystem.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SearchCachingTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private SearchCacheKeys searchKeys;
+
+    @MockBean
+    private BookRepository bookRepository;
+
+    @Test
+    void searchBooks_ShouldServeRepeatedQueriesFromCache() {
+        // Given
+        when(bookRepository.findByKeyword("dune")).thenReturn(List.of(createBook("1", "Dune")));
+
+        // When
+        bookService.searchBooks("dune");
+        List<Book> second = bookService.searchBooks("  DUNE ");
+
+        // Then
+        assertEquals("Dune", second.get(0).getTitle());
+        verify(bookRepository, times(1)).findByKeyword(anyString());
+    }
+
+    @Test
+    void searchBooks_ShouldQueryAgain_WhenGenerationWasBumped() {
+        // Given
+        when(bookRepository.findByKeyword("dune")).thenReturn(List.of(createBook("1", "Dune")));
+        bookService.searchBooks("dune");
+
+        // When
+        searchKeys.bump("books");
+        bookService.searchBooks("dune");
+
+        // Then
+        verify(bookRepository, times(2)).findByKeyword("dune");
+    }
+
+    @Test
+    void searchBooks_ShouldKeepCachedResults_WhenOtherCollectionWasBumped() {
+        // Given
+        when(bookRepository.findByKeyword("dune")).thenReturn(List.of(createBook("1", "Dune")));
+        bookService.searchBooks("dune");
+
+        // When
+        searchKeys.bump("authors");
+        bookService.searchBooks("dune");
+
+        // Then
+        verify(bookRepository, times(1)).findByKeyword("dune");
+    }
+
+    private Book createBook(String id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        return book;
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        // Generations kept in memory instead of Redis
+        @Bean("searchKeys")
+        SearchCacheKeys searchKeys() {
+            Map<String, Long> generations = new ConcurrentHashMap<>();
+            return new SearchCacheKeys(null) {
+                @Override
+                public long generation(String collection) {
+                    return generations.getOrDefault(collection, 0L);
+                }
+
+                @Override
+                public void bump(String collection) {
+                    generations.merge(collection, 1L, Long::sum);
+                }
+            };
+        }
+
+        @Bean
+        BookService bookService(BookRepository bookRepository) {
+            return new BookService(bookRepository);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.librarysystem.cache;
+
+import com.librarysystem.model.Book;
+import com.librarysystem.model.Loan;
+import com.librarysystem.search.AvailabilityUpdate;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchInvalidationListenerTest {
+
+    @Mock
+    private SearchCacheKeys searchKeys;
+
+    @InjectMocks
+    private SearchInvalidationListener listener;
+
+    @Test
+    void onAfterSave_ShouldBumpGeneration_WhenSearchableDocumentIsSaved() {
+        // When
+        listener.onAfterSave(new AfterSaveEvent<>(new Book(), new Document(), "books"));
+
+        // Then
+        verify(searchKeys).bump("books");
+    }
+
+    @Test
+    void onAfterSave_ShouldBumpGeneration_WhenOnlyAvailabilityChanged() {
+        // When
+        AvailabilityUpdate.run(() -> {
+            listener.onAfterSave(new AfterSaveEvent<>(new Book(), new Document(), "books"));
+            return null;
+        });
+
+        // Then
+        verify(searchKeys).bump("books");
+    }
+
+    @Test
+    void onAfterSave_ShouldBumpGenerationOnlyAfterCommit_WhenTransactionIsActive() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            listener.onAfterSave(new AfterSaveEvent<>(new Book(), new Document(), "books"));
+
+            // Then
+            verifyNoInteractions(searchKeys);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(searchKeys).bump("books");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onAfterSave_ShouldKeepGeneration_WhenCollectionIsNotSearchable() {
+        // When
+        listener.onAfterSave(new AfterSaveEvent<>(new Loan(), new Document(), "loans"));
+
+        // Then
+        verifyNoInteractions(searchKeys);
+    }
+
+    @Test
+    void onAfterDelete_ShouldBumpGeneration() {
+        // When
+        listener.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "1"), Object.class, "authors"));
+
+        // Then
+        verify(searchKeys).bump("authors");
+    }
+}
@@ -0,0 +1,70 @@
+package com.librarysystem.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_ShouldLoadOnce_WhenCallersOverlap() throws Exception {
+        // Given
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("author1", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await();
+                return "Fyodor Dostoevsky";
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("author1", () -> {
+                    loads.incrementAndGet();
+                    return "unexpected";
+                })));
+            }
+            Thread.sleep(100);
+            releaseLoader.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("Fyodor Dostoevsky", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldPropagateLoaderFailure_AndAllowRetry() throws Exception {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> singleFlight.execute("author1", () -> {
+                throw new RuntimeException("Mongo unavailable");
+            }));
+        assertEquals("Mongo unavailable", exception.getMessage());
+
+        assertEquals("Fyodor Dostoevsky", singleFlight.execute("author1", () -> "Fyodor Dostoevsky"));
+    }
+}
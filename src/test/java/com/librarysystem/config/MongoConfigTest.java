@@ -0,0 +1,85 @@
+package com.librarysystem.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoConfigTest {
+
+    @Test
+    void compressors_ShouldParseNamesInOrder_IgnoringCaseAndBlanks() {
+        // When
+        List<MongoCompressor> result = MongoConfig.compressors(List.of(" ZSTD ", "", "snappy", "Zlib"));
+
+        // Then
+        assertEquals(List.of("zstd", "snappy", "zlib"), result.stream().map(MongoCompressor::getName).toList());
+    }
+
+    @Test
+    void compressors_ShouldParseNames_WhenDefaultLocaleIsTurkish() {
+        // Given
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            // When
+            List<MongoCompressor> result = MongoConfig.compressors(List.of("ZLIB"));
+
+            // Then
+            assertEquals("zlib", result.get(0).getName());
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void compressors_ShouldThrow_WhenNameIsUnknown() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> MongoConfig.compressors(List.of("lz4")));
+        assertTrue(exception.getMessage().contains("lz4"));
+    }
+
+    @Test
+    void clientSettings_ShouldApplyProperties_WhenUriLeavesOptionsOut() {
+        // Given
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setMaxPoolSize(40);
+        properties.setMaxWaitTime(Duration.ofSeconds(3));
+        properties.setReadTimeout(Duration.ofSeconds(20));
+
+        // When
+        MongoClientSettings settings = MongoConfig.clientSettings(
+                new ConnectionString("mongodb://localhost:27017/library"), properties).build();
+
+        // Then
+        assertEquals(40, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(3000, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(20000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zstd", "snappy"), settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+    }
+
+    @Test
+    void clientSettings_ShouldKeepUriOptions_WhenPropertiesAlsoSetThem() {
+        // Given
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setMaxPoolSize(40);
+        properties.setReadTimeout(Duration.ofSeconds(20));
+
+        // When
+        MongoClientSettings settings = MongoConfig.clientSettings(new ConnectionString(
+                "mongodb://localhost:27017/library?maxPoolSize=7&socketTimeoutMS=1500&compressors=zlib"), properties).build();
+
+        // Then
+        assertEquals(7, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(1500, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zlib"), settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+        assertEquals(properties.getMaxConnecting(), settings.getConnectionPoolSettings().getMaxConnecting());
+    }
+}
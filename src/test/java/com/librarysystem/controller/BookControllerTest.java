@@ -2,6 +2,8 @@ package com.librarysystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.librarysystem.model.Book;
+import com.librarysystem.model.BookReach;
+import com.librarysystem.service.BookReachService;
 import com.librarysystem.service.BookService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +32,9 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookReachService bookReachService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -89,6 +95,35 @@ class BookControllerTest {
         verify(bookService).findById("999");
     }
 
+    @Test
+    void getBooksByIds_ShouldReturnRequestedBooks() throws Exception {
+        // Given
+        List<String> ids = List.of("1", "999");
+        when(bookService.findAllByIds(ids)).thenReturn(Collections.singletonList(testBook));
+
+        // When & Then
+        mockMvc.perform(post("/api/books/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("1"));
+
+        verify(bookService).findAllByIds(ids);
+    }
+
+    @Test
+    void getBooksByIds_ShouldReturn400_WhenTooManyIds() throws Exception {
+        // Given
+        when(bookService.findAllByIds(anyList())).thenThrow(new RuntimeException("Cannot fetch more than 5000 books per request"));
+
+        // When & Then
+        mockMvc.perform(post("/api/books/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("1"))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createBook_ShouldReturnCreatedBook_WhenValidBook() throws Exception {
         // Given
@@ -217,4 +252,20 @@ class BookControllerTest {
 
         verify(bookService).isBookAvailable("1");
     }
+
+    @Test
+    void getBookReach_ShouldReturnUniqueReaders() throws Exception {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(bookReachService.getReach("1", 7)).thenReturn(new BookReach("1", today.minusDays(6), today, 42));
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1/reach")
+                .param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookId").value("1"))
+                .andExpect(jsonPath("$.uniqueReaders").value(42));
+
+        verify(bookReachService).getReach("1", 7);
+    }
 }
@@ -0,0 +1,114 @@
+package com.librarysystem.controller;
+
+import com.librarysystem.model.Book;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanView;
+import com.librarysystem.service.LoanEventLogService;
+import com.librarysystem.service.LoanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LoanController.class)
+class LoanControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LoanService loanService;
+
+    @MockBean
+    private LoanEventLogService loanEventLogService;
+
+    private Loan testLoan;
+    private Book testBook;
+    private Borrower testBorrower;
+
+    @BeforeEach
+    void setUp() {
+        testLoan = new Loan();
+        testLoan.setId("loan1");
+        testLoan.setBookId("book1");
+        testLoan.setBorrowerId("borrower1");
+
+        testBook = new Book();
+        testBook.setId("book1");
+        testBook.setTitle("Test Book");
+
+        testBorrower = new Borrower();
+        testBorrower.setId("borrower1");
+        testBorrower.setFirstName("Jane");
+    }
+
+    @Test
+    void getAllLoans_ShouldReturnPlainLoans_WhenExpandIsMissing() throws Exception {
+        // Given
+        when(loanService.findAll()).thenReturn(List.of(testLoan));
+        when(loanService.expand(List.of(testLoan), List.of()))
+                .thenReturn(List.of(new LoanView(testLoan, null, null)));
+
+        // When & Then
+        mockMvc.perform(get("/api/loans"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value("loan1"))
+                .andExpect(jsonPath("$[0].bookId").value("book1"))
+                .andExpect(jsonPath("$[0].book").doesNotExist())
+                .andExpect(jsonPath("$[0].borrower").doesNotExist());
+    }
+
+    @Test
+    void getAllLoans_ShouldEmbedBookAndBorrower_WhenExpanded() throws Exception {
+        // Given
+        when(loanService.findAll()).thenReturn(List.of(testLoan));
+        when(loanService.expand(List.of(testLoan), List.of("book", "borrower")))
+                .thenReturn(List.of(new LoanView(testLoan, testBook, testBorrower)));
+
+        // When & Then
+        mockMvc.perform(get("/api/loans").param("expand", "book,borrower"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("loan1"))
+                .andExpect(jsonPath("$[0].book.title").value("Test Book"))
+                .andExpect(jsonPath("$[0].borrower.firstName").value("Jane"));
+    }
+
+    @Test
+    void getLoansByBorrower_ShouldOmitBook_WhenReferencedBookIsMissing() throws Exception {
+        // Given
+        when(loanService.findByBorrower("borrower1")).thenReturn(List.of(testLoan));
+        when(loanService.expand(List.of(testLoan), List.of("book")))
+                .thenReturn(List.of(new LoanView(testLoan, null, null)));
+
+        // When & Then
+        mockMvc.perform(get("/api/loans/borrower/borrower1").param("expand", "book"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("loan1"))
+                .andExpect(jsonPath("$[0].book").doesNotExist());
+    }
+
+    @Test
+    void getAllLoans_ShouldReturnBadRequest_WhenExpandValueIsUnknown() throws Exception {
+        // Given
+        when(loanService.findAll()).thenReturn(List.of(testLoan));
+        when(loanService.expand(anyList(), eq(List.of("author"))))
+                .thenThrow(new RuntimeException("Unsupported expand value: author"));
+
+        // When & Then
+        mockMvc.perform(get("/api/loans").param("expand", "author"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported expand value: author"));
+    }
+}
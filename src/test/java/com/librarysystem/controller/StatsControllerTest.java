@@ -0,0 +1,91 @@
+package com.librarysystem.controller;
+
+import com.librarysystem.model.CirculationRollup;
+import com.librarysystem.service.CirculationStatsService;
+import com.librarysystem.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatsController.class)
+class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CirculationStatsService circulationStatsService;
+
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @Test
+    void getCirculationStats_ShouldReturnRollups_WhenRangeIsGiven() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 10);
+        CirculationRollup rollup = new CirculationRollup();
+        rollup.setId("2024-03-05");
+        rollup.setDate(LocalDate.of(2024, 3, 5));
+        rollup.setLoans(4);
+        rollup.setReturns(2);
+        rollup.setLateReturns(1);
+        when(circulationStatsService.findRollups(from, to)).thenReturn(List.of(rollup));
+
+        // When & Then
+        mockMvc.perform(get("/api/stats/circulation").param("from", "2024-03-01").param("to", "2024-03-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].date").value("2024-03-05"))
+                .andExpect(jsonPath("$[0].loans").value(4))
+                .andExpect(jsonPath("$[0].lateReturnRate").value(0.5));
+    }
+
+    @Test
+    void getCirculationStats_ShouldDefaultToLastThirtyDays_WhenNoRangeIsGiven() throws Exception {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(circulationStatsService.findRollups(today.minusDays(30), today)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/stats/circulation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(circulationStatsService).findRollups(today.minusDays(30), today);
+    }
+
+    @Test
+    void getCirculationStats_ShouldReturnBadRequest_WhenRangeIsInvalid() throws Exception {
+        // Given
+        when(circulationStatsService.findRollups(any(), any()))
+                .thenThrow(new RuntimeException("Start date must not be after end date"));
+
+        // When & Then
+        mockMvc.perform(get("/api/stats/circulation").param("from", "2024-03-10").param("to", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rebuildCirculationStats_ShouldRebuildRange() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 7);
+        when(circulationStatsService.rebuild(from, to)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(post("/api/stats/circulation/rebuild").param("from", "2024-03-01").param("to", "2024-03-07"))
+                .andExpect(status().isOk());
+
+        verify(circulationStatsService).rebuild(from, to);
+    }
+}
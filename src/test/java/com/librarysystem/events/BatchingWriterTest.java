@@ -0,0 +1,140 @@
+package com.librarysystem.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingWriterTest {
+
+    private final List<List<Integer>> spilled = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void submit_ShouldGroupItemsIntoBatches() {
+        // Given
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", batches::add, spilled::add, 10, Duration.ofSeconds(5), 1000,
+                3, Duration.ofMillis(1));
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            writer.submit(i);
+        }
+        writer.close();
+
+        // Then
+        List<Integer> written = batches.stream().flatMap(List::stream).toList();
+        assertEquals(25, written.size());
+        assertTrue(batches.size() <= 5);
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertEquals(written.stream().sorted().toList(), written);
+    }
+
+    @Test
+    void submit_ShouldFlushPartialBatchAfterInterval() throws Exception {
+        // Given
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", batches::add, spilled::add, 100, Duration.ofMillis(20), 1000,
+                3, Duration.ofMillis(1));
+
+        // When
+        writer.submit(1);
+        writer.submit(2);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (batches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // Then
+        assertEquals(List.of(List.of(1, 2)), batches);
+        writer.close();
+    }
+
+    @Test
+    void submit_ShouldWriteSynchronouslyAfterClose() {
+        // Given
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", batches::add, spilled::add, 10, Duration.ofMillis(20), 10,
+                3, Duration.ofMillis(1));
+        writer.close();
+
+        // When
+        writer.submit(7);
+
+        // Then
+        assertEquals(List.of(List.of(7)), batches);
+    }
+
+    @Test
+    void submit_ShouldRetryBatch_WhenSinkFailsTransiently() throws Exception {
+        // Given
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger(2);
+        Consumer<List<Integer>> flakySink = batch -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("database unavailable");
+            }
+            batches.add(batch);
+        };
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", flakySink, spilled::add, 10, Duration.ofMillis(20), 1000,
+                3, Duration.ofMillis(1));
+
+        // When
+        writer.submit(1);
+        awaitNotEmpty(batches);
+        writer.close();
+
+        // Then
+        assertEquals(List.of(List.of(1)), batches);
+        assertTrue(spilled.isEmpty());
+    }
+
+    @Test
+    void submit_ShouldSpillBatch_WhenRetriesAreExhausted() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Consumer<List<Integer>> failingSink = batch -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        };
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", failingSink, spilled::add, 10, Duration.ofMillis(20), 1000,
+                3, Duration.ofMillis(1));
+
+        // When
+        writer.submit(1);
+        awaitNotEmpty(spilled);
+        writer.close();
+
+        // Then
+        assertEquals(List.of(List.of(1)), spilled);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void submit_ShouldSpillItem_WhenSynchronousWriteFails() {
+        // Given
+        BatchingWriter<Integer> writer = new BatchingWriter<>("test-writer", batch -> {
+            throw new IllegalStateException("database unavailable");
+        }, spilled::add, 10, Duration.ofMillis(20), 10, 3, Duration.ofMillis(1));
+        writer.close();
+
+        // When
+        writer.submit(7);
+
+        // Then
+        assertEquals(List.of(List.of(7)), spilled);
+    }
+
+    private static void awaitNotEmpty(List<?> list) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (list.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
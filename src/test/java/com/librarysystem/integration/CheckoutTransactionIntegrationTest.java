@@ -0,0 +1,135 @@
+package com.librarysystem.integration;
+
+import com.librarysystem.model.Book;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.CirculationRollup;
+import com.librarysystem.repository.BookRepository;
+import com.librarysystem.repository.BorrowerRepository;
+import com.librarysystem.repository.CirculationRollupRepository;
+import com.librarysystem.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent checkouts with MongoDB transactions enabled. Every checkout of the day increments the
+ * same rollup document, which must happen after commit so the checkouts do not abort each other.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "library.mongodb.transactions.enabled=true")
+@Testcontainers
+public class CheckoutTransactionIntegrationTest {
+
+    private static final int CHECKOUTS = 8;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0");
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // The container runs a single-node replica set, which transactions need
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", redisContainer::getFirstMappedPort);
+        registry.add("spring.cache.type", () -> "none");
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowerRepository borrowerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private CirculationRollupRepository rollupRepository;
+
+    private final List<Book> books = new ArrayList<>();
+    private final List<Borrower> borrowers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        borrowerRepository.deleteAll();
+        rollupRepository.deleteAll();
+        books.clear();
+        borrowers.clear();
+
+        for (int i = 0; i < CHECKOUTS; i++) {
+            Book book = new Book();
+            book.setTitle("Transaction Test Book " + i);
+            book.setIsbn("978-01234567" + String.format("%02d", i));
+            book.setGenre("Fiction");
+            book.setTotalCopies(2);
+            book.setAvailableCopies(2);
+            books.add(bookRepository.save(book));
+
+            Borrower borrower = new Borrower();
+            borrower.setFirstName("Reader");
+            borrower.setLastName("Number" + i);
+            borrower.setEmail("reader" + i + "@example.com");
+            borrowers.add(borrowerRepository.save(borrower));
+        }
+    }
+
+    @Test
+    void createLoan_ShouldCommitEveryCheckoutAndCountIt_WhenCheckoutsRunConcurrently() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(CHECKOUTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < CHECKOUTS; i++) {
+                String url = "/api/loans?bookId=" + books.get(i).getId() + "&borrowerId=" + borrowers.get(i).getId();
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return restTemplate.postForEntity(url, null, String.class);
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<String>> response : responses) {
+                assertEquals(HttpStatus.CREATED, response.get().getStatusCode(), response.get().getBody());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(CHECKOUTS, loanRepository.count());
+        books.forEach(book -> assertEquals(1, (int) bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies()));
+        CirculationRollup rollup = rollupRepository.findById(LocalDate.now().toString()).orElseThrow();
+        assertEquals(CHECKOUTS, rollup.getLoans());
+    }
+}
@@ -0,0 +1,122 @@
+package com.librarysystem.integration;
+
+import com.librarysystem.model.Book;
+import com.librarysystem.routing.ReadFromSecondary;
+import com.librarysystem.routing.ReadRouting;
+import com.librarysystem.routing.ReadRoutingMongoDatabaseFactory;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the single-node replica set of the MongoDB test container: secondary-preferred reads
+ * fall back to the primary there, so the test checks the read preference each find command carries.
+ */
+@Testcontainers
+class ReadRoutingIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0");
+
+    private final List<BsonDocument> findCommands = new CopyOnWriteArrayList<>();
+    private MongoClient mongoClient;
+    private Reports reports;
+
+    @BeforeEach
+    void setUp() {
+        CommandListener recorder = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if ("find".equals(event.getCommandName())) {
+                    findCommands.add(event.getCommand().clone());
+                }
+            }
+        };
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongoDBContainer.getReplicaSetUrl()))
+                .addCommandListener(recorder)
+                .build());
+        ReadPreference secondary = ReadPreference.valueOf("secondaryPreferred", List.of(), 90, TimeUnit.SECONDS);
+        MongoTemplate mongoTemplate = new MongoTemplate(
+                new ReadRoutingMongoDatabaseFactory(new SimpleMongoClientDatabaseFactory(mongoClient, "read_routing"), secondary));
+        mongoTemplate.dropCollection(Book.class);
+
+        Book book = new Book();
+        book.setTitle("Routing Test Book");
+        mongoTemplate.insert(book);
+
+        ProxyFactory proxyFactory = new ProxyFactory(new Reports(mongoTemplate));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(ReadRouting.advisor());
+        reports = (Reports) proxyFactory.getProxy();
+        findCommands.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void annotatedRead_ShouldCarrySecondaryReadPreferenceWithMaxStaleness() {
+        // When
+        List<Book> books = reports.allFromSecondary();
+
+        // Then
+        assertEquals(1, books.size());
+        assertEquals(1, findCommands.size());
+        BsonDocument readPreference = findCommands.get(0).getDocument("$readPreference");
+        assertEquals("secondaryPreferred", readPreference.getString("mode").getValue());
+        assertEquals(90, readPreference.getNumber("maxStalenessSeconds").longValue());
+        assertFalse(ReadRouting.isSecondary());
+    }
+
+    @Test
+    void plainRead_ShouldStayOnPrimary() {
+        // When
+        List<Book> books = reports.allFromPrimary();
+
+        // Then
+        assertEquals(1, books.size());
+        assertEquals(1, findCommands.size());
+        assertFalse(findCommands.get(0).containsKey("$readPreference"));
+    }
+
+    static class Reports {
+
+        private final MongoTemplate mongoTemplate;
+
+        Reports(MongoTemplate mongoTemplate) {
+            this.mongoTemplate = mongoTemplate;
+        }
+
+        @ReadFromSecondary
+        public List<Book> allFromSecondary() {
+            return mongoTemplate.findAll(Book.class);
+        }
+
+        public List<Book> allFromPrimary() {
+            return mongoTemplate.findAll(Book.class);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.librarysystem.integration;
+
+import com.librarysystem.repository.LoanRepository;
+import com.librarysystem.routing.ReadFromSecondary;
+import com.librarysystem.service.AuthorService;
+import com.librarysystem.service.BookService;
+import com.librarysystem.service.CirculationStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the read-routing advisor reaches the beans the application actually wires, which
+ * {@link ReadRoutingIntegrationTest} cannot see because it builds its own proxy.
+ */
+@SpringBootTest
+@Testcontainers
+class ReadRoutingWiringIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0");
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", redisContainer::getFirstMappedPort);
+    }
+
+    @Autowired
+    @Qualifier("readFromSecondaryAdvisor")
+    private Advisor readFromSecondaryAdvisor;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CirculationStatsService circulationStatsService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Test
+    void advisor_ShouldBeAppliedToAnnotatedServiceBeans() {
+        assertTrue(isAdvised(bookService));
+        assertTrue(isAdvised(circulationStatsService));
+    }
+
+    @Test
+    void advisor_ShouldNotBeAppliedToRepositoriesWhoseReadsFeedWrites() {
+        assertFalse(isAdvised(loanRepository));
+    }
+
+    @Test
+    void advisor_ShouldNotBeAppliedToBeansWithOnlyCachedReads() {
+        assertFalse(isAdvised(authorService));
+    }
+
+    @Test
+    void advisor_ShouldRejectCachedMethods() {
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> AopUtils.canApply(readFromSecondaryAdvisor, CachedReads.class));
+        assertTrue(exception.getMessage().contains("CachedReads.search"));
+    }
+
+    private boolean isAdvised(Object bean) {
+        if (!(bean instanceof Advised advised)) {
+            return false;
+        }
+        List<Advisor> advisors = Arrays.asList(advised.getAdvisors());
+        return advisors.contains(readFromSecondaryAdvisor);
+    }
+
+    static class CachedReads {
+
+        @Cacheable("searches")
+        @ReadFromSecondary
+        public List<String> search(String query) {
+            return List.of(query);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.librarysystem.mongo;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CheckoutWaitListenerTest {
+
+    private final ServerId serverId = new ServerId(new ClusterId(), new ServerAddress("db1", 27017));
+
+    private SimpleMeterRegistry meterRegistry;
+    private CheckoutWaitListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new CheckoutWaitListener(meterRegistry);
+    }
+
+    @Test
+    void connectionCheckedOut_ShouldRecordWaitAsSuccess() {
+        // Given
+        ConnectionCheckedOutEvent event = mock(ConnectionCheckedOutEvent.class);
+        when(event.getConnectionId()).thenReturn(new ConnectionId(serverId));
+        when(event.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(12));
+
+        // When
+        listener.connectionCheckedOut(event);
+
+        // Then
+        Timer timer = meterRegistry.get("library.mongodb.pool.checkout-wait")
+                .tag("server.address", "db1:27017")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(12, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void connectionCheckOutFailed_ShouldTagReason_WhenDefaultLocaleIsTurkish() {
+        // Given
+        ConnectionCheckOutFailedEvent event = mock(ConnectionCheckOutFailedEvent.class);
+        when(event.getServerId()).thenReturn(serverId);
+        when(event.getReason()).thenReturn(ConnectionCheckOutFailedEvent.Reason.CONNECTION_ERROR);
+        when(event.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.SECONDS.toNanos(2));
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        // When
+        try {
+            listener.connectionCheckOutFailed(event);
+        } finally {
+            Locale.setDefault(original);
+        }
+
+        // Then
+        Timer timer = meterRegistry.get("library.mongodb.pool.checkout-wait")
+                .tag("outcome", "connection_error")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,46 @@
+package com.librarysystem.mongo;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryShapesTest {
+
+    @Test
+    void of_ShouldMaskLiteralsAndKeepSort() {
+        // Given
+        BsonDocument command = BsonDocument.parse(
+                "{find: 'loans', filter: {status: 'ACTIVE', dueDate: {$lt: '2024-06-01'}}, sort: {dueDate: 1}, limit: 10, $db: 'library'}");
+
+        // When
+        String shape = QueryShapes.of("find", command);
+
+        // Then
+        assertEquals(BsonDocument.parse("{find: 'loans', filter: {status: '?', dueDate: {$lt: '?'}}, sort: {dueDate: 1}}"),
+                BsonDocument.parse(shape));
+    }
+
+    @Test
+    void of_ShouldGiveSameShape_WhenOnlyValuesDiffer() {
+        // Given
+        BsonDocument first = BsonDocument.parse("{find: 'books', filter: {_id: {$in: ['a', 'b', 'c']}}}");
+        BsonDocument second = BsonDocument.parse("{find: 'books', filter: {_id: {$in: ['d']}}}");
+
+        // When & Then
+        assertEquals(QueryShapes.of("find", first), QueryShapes.of("find", second));
+    }
+
+    @Test
+    void of_ShouldUseFirstStatement_WhenCommandIsBulkUpdate() {
+        // Given
+        BsonDocument command = BsonDocument.parse(
+                "{update: 'loans', updates: [{q: {_id: '1'}, u: {$set: {status: 'RETURNED'}}}, {q: {_id: '2'}, u: {}}]}");
+
+        // When
+        String shape = QueryShapes.of("update", command);
+
+        // Then
+        assertEquals(BsonDocument.parse("{update: 'loans', q: {_id: '?'}}"), BsonDocument.parse(shape));
+    }
+}
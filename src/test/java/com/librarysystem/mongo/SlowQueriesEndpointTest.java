@@ -0,0 +1,31 @@
+package com.librarysystem.mongo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueriesEndpointTest {
+
+    @Test
+    void slowQueries_ShouldReturnThresholdAndRecentQueries() {
+        // Given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(200), 10, false, Duration.ofMinutes(10));
+        SlowQuery entry = new SlowQuery(Instant.now(), "library", "loans", "find", 250, false,
+                "{\"find\": \"loans\"}", "LoanService.findAll:42");
+        slowQueryLog.record(entry, null, null);
+        SlowQueriesEndpoint endpoint = new SlowQueriesEndpoint(slowQueryLog);
+
+        // When
+        Map<String, Object> body = endpoint.slowQueries();
+
+        // Then
+        assertEquals(200L, body.get("thresholdMillis"));
+        assertEquals(List.of(entry), body.get("queries"));
+        slowQueryLog.close();
+    }
+}
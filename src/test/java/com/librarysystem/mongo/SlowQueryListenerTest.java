@@ -0,0 +1,112 @@
+package com.librarysystem.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlowQueryListenerTest {
+
+    private SlowQueryLog slowQueryLog;
+    private SlowQueryListener listener;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog = new SlowQueryLog(Duration.ofMillis(200), 10, false, Duration.ofMinutes(10));
+        listener = new SlowQueryListener(slowQueryLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLog.close();
+    }
+
+    @Test
+    void commandSucceeded_ShouldRecordShape_WhenQueryIsSlow() {
+        // Given
+        listener.commandStarted(started(1, "find", "{find: 'borrowers', filter: {email: 'jane@example.com'}}"));
+
+        // When
+        listener.commandSucceeded(succeeded(1, "find", 350));
+
+        // Then
+        assertEquals(1, slowQueryLog.recent().size());
+        SlowQuery entry = slowQueryLog.recent().get(0);
+        assertEquals("library", entry.getDatabase());
+        assertEquals("borrowers", entry.getCollection());
+        assertEquals("find", entry.getCommand());
+        assertEquals(350, entry.getDurationMillis());
+        assertFalse(entry.isFailed());
+        assertFalse(entry.getShape().contains("jane@example.com"));
+    }
+
+    @Test
+    void commandSucceeded_ShouldSkip_WhenQueryIsFast() {
+        // Given
+        listener.commandStarted(started(2, "find", "{find: 'books', filter: {}}"));
+
+        // When
+        listener.commandSucceeded(succeeded(2, "find", 5));
+
+        // Then
+        assertTrue(slowQueryLog.recent().isEmpty());
+    }
+
+    @Test
+    void commandSucceeded_ShouldSkip_WhenCommandIsNotAQuery() {
+        // Given
+        listener.commandStarted(started(3, "insert", "{insert: 'loans', documents: [{}]}"));
+
+        // When
+        listener.commandSucceeded(succeeded(3, "insert", 500));
+
+        // Then
+        assertTrue(slowQueryLog.recent().isEmpty());
+    }
+
+    @Test
+    void commandFailed_ShouldRecordFailure_WhenQueryIsSlow() {
+        // Given
+        listener.commandStarted(started(4, "aggregate", "{aggregate: 'loans', pipeline: [{$match: {status: 'ACTIVE'}}]}"));
+        CommandFailedEvent failed = mock(CommandFailedEvent.class);
+        when(failed.getRequestId()).thenReturn(4);
+        when(failed.getCommandName()).thenReturn("aggregate");
+        when(failed.getDatabaseName()).thenReturn("library");
+        when(failed.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(900));
+
+        // When
+        listener.commandFailed(failed);
+
+        // Then
+        assertEquals(1, slowQueryLog.recent().size());
+        assertTrue(slowQueryLog.recent().get(0).isFailed());
+        assertEquals("loans", slowQueryLog.recent().get(0).getCollection());
+    }
+
+    private static CommandStartedEvent started(int requestId, String commandName, String command) {
+        CommandStartedEvent event = mock(CommandStartedEvent.class);
+        when(event.getRequestId()).thenReturn(requestId);
+        when(event.getCommandName()).thenReturn(commandName);
+        when(event.getCommand()).thenReturn(BsonDocument.parse(command));
+        return event;
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, String commandName, long millis) {
+        CommandSucceededEvent event = mock(CommandSucceededEvent.class);
+        when(event.getRequestId()).thenReturn(requestId);
+        when(event.getCommandName()).thenReturn(commandName);
+        when(event.getDatabaseName()).thenReturn("library");
+        when(event.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(millis));
+        return event;
+    }
+}
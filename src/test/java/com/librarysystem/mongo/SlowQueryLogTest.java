@@ -0,0 +1,82 @@
+package com.librarysystem.mongo;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    @Test
+    void record_ShouldKeepNewestEntriesFirst_WhenRingIsFull() {
+        // Given
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(200), 2, false, Duration.ofMinutes(10));
+
+        // When
+        slowQueryLog.record(entry("first"), null, null);
+        slowQueryLog.record(entry("second"), null, null);
+        slowQueryLog.record(entry("third"), null, null);
+
+        // Then
+        List<String> shapes = slowQueryLog.recent().stream().map(SlowQuery::getShape).toList();
+        assertEquals(List.of("third", "second"), shapes);
+        slowQueryLog.close();
+    }
+
+    @Test
+    void planOf_ShouldDropQueryValues_WhenPlanIsStored() {
+        // Given
+        Document explain = Document.parse("""
+                {queryPlanner: {namespace: 'library.borrowers',
+                  parsedQuery: {email: {$eq: 'jane@example.com'}},
+                  winningPlan: {stage: 'FETCH', filter: {lastName: {$eq: 'Doe'}},
+                    inputStage: {stage: 'IXSCAN', indexName: 'email', indexBounds: {email: ['["jane@example.com", "jane@example.com"]']}}},
+                  rejectedPlans: [{stage: 'COLLSCAN', filter: {email: {$eq: 'jane@example.com'}}}]},
+                 command: {find: 'borrowers', filter: {email: 'jane@example.com'}}}
+                """);
+
+        // When
+        Map<String, Object> plan = SlowQueryLog.planOf(explain);
+
+        // Then
+        assertNotNull(plan);
+        assertFalse(plan.toString().contains("jane@example.com"));
+        assertFalse(plan.toString().contains("Doe"));
+        assertEquals("library.borrowers", plan.get("namespace"));
+        Document inputStage = (Document) ((Document) plan.get("winningPlan")).get("inputStage");
+        assertEquals("IXSCAN", inputStage.get("stage"));
+        assertEquals("email", inputStage.get("indexName"));
+    }
+
+    @Test
+    void planOf_ShouldFindPlanInsideCursorStage_WhenCommandIsAggregation() {
+        // Given
+        Document explain = Document.parse("""
+                {stages: [{$cursor: {queryPlanner: {namespace: 'library.loans', parsedQuery: {borrowerId: {$eq: 'b1'}},
+                   winningPlan: {stage: 'COLLSCAN', filter: {borrowerId: {$eq: 'b1'}}}}}},
+                  {$group: {_id: '$status'}}]}
+                """);
+
+        // When
+        Map<String, Object> plan = SlowQueryLog.planOf(explain);
+
+        // Then
+        assertNotNull(plan);
+        assertEquals("library.loans", plan.get("namespace"));
+        assertFalse(plan.toString().contains("b1"));
+    }
+
+    @Test
+    void planOf_ShouldReturnNull_WhenResultHasNoQueryPlanner() {
+        assertNull(SlowQueryLog.planOf(new Document("ok", 1.0)));
+    }
+
+    private static SlowQuery entry(String shape) {
+        return new SlowQuery(Instant.now(), "library", "loans", "find", 250, false, shape, "LoanService.findAll:42");
+    }
+}
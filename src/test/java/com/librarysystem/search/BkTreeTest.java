@@ -0,0 +1,52 @@
+package com.librarysystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BkTreeTest {
+
+    @Test
+    void distance_ShouldCountEdits() {
+        assertEquals(0, BkTree.distance("dostoevsky", "dostoevsky"));
+        assertEquals(1, BkTree.distance("dostoyevsky", "dostoevsky"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "abcd"));
+    }
+
+    @Test
+    void search_ShouldReturnMatchesWithinDistanceClosestFirst() {
+        // Given
+        BkTree<String> tree = new BkTree<>();
+        tree.add("dostoevsky", "1");
+        tree.add("tolstoy", "2");
+        tree.add("dostoevskaya", "3");
+        tree.add("chekhov", "4");
+
+        // When
+        List<BkTree.Match<String>> matches = tree.search("dostoyevsky", 2);
+
+        // Then
+        assertEquals(List.of("1"), matches.stream().map(BkTree.Match::value).toList());
+        assertEquals(1, matches.get(0).distance());
+        assertEquals(List.of("1", "3"), tree.search("dostoevsk", 3).stream().map(BkTree.Match::value).toList());
+    }
+
+    @Test
+    void remove_ShouldDropValueButKeepOtherValuesReachable() {
+        // Given
+        BkTree<String> tree = new BkTree<>();
+        tree.add("smith", "1");
+        tree.add("smyth", "2");
+        tree.add("smithe", "3");
+
+        // When
+        tree.remove("smith", "1");
+
+        // Then
+        assertEquals(2, tree.size());
+        assertEquals(List.of("2", "3"), tree.search("smith", 1).stream().map(BkTree.Match::value).sorted().toList());
+    }
+}
@@ -0,0 +1,88 @@
+package com.librarysystem.search;
+
+import com.librarysystem.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BranchIndexesTest {
+
+    private final BranchIndexes<Set<String>> indexes = new BranchIndexes<>(ConcurrentHashMap::newKeySet);
+
+    @Test
+    void update_ShouldApplyToCurrentBranchOnly() {
+        // When
+        indexes.update(index -> index.add("default-book"));
+        TenantContext.runAs("north", () -> indexes.update(index -> index.add("north-book")));
+
+        // Then
+        assertEquals(Set.of("default-book"), indexes.current());
+        assertEquals(Set.of("north-book"), TenantContext.callAs("north", indexes::current));
+    }
+
+    @Test
+    void rebuild_ShouldReplayUpdatesMadeWhileBuilding() {
+        // Given
+        indexes.update(index -> index.add("stale"));
+
+        // When
+        boolean rebuilt = indexes.rebuild(() -> {
+            Set<String> loaded = ConcurrentHashMap.newKeySet();
+            loaded.add("loaded");
+            // A save landing after the snapshot was read
+            indexes.update(index -> index.add("saved-during-rebuild"));
+            return loaded;
+        });
+
+        // Then
+        assertTrue(rebuilt);
+        assertEquals(Set.of("loaded", "saved-during-rebuild"), indexes.current());
+    }
+
+    @Test
+    void rebuild_ShouldNotReplayUpdates_AfterSwap() {
+        // Given
+        indexes.rebuild(ConcurrentHashMap::newKeySet);
+
+        // When
+        indexes.update(index -> index.add("later"));
+        indexes.rebuild(() -> {
+            Set<String> loaded = ConcurrentHashMap.newKeySet();
+            loaded.addAll(List.of("later"));
+            return loaded;
+        });
+
+        // Then
+        assertEquals(Set.of("later"), indexes.current());
+    }
+
+    @Test
+    void rebuild_ShouldSkip_WhenBranchIsAlreadyRebuilding() {
+        // When
+        boolean[] nested = new boolean[1];
+        indexes.rebuild(() -> {
+            nested[0] = indexes.rebuild(ConcurrentHashMap::newKeySet);
+            return ConcurrentHashMap.newKeySet();
+        });
+
+        // Then
+        assertFalse(nested[0]);
+    }
+
+    @Test
+    void rebuild_ShouldKeepLiveIndex_WhenBuildFails() {
+        // Given
+        indexes.update(index -> index.add("live"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> indexes.rebuild(() -> {
+            throw new IllegalStateException("MongoDB down");
+        }));
+        assertEquals(Set.of("live"), indexes.current());
+        assertTrue(indexes.rebuild(ConcurrentHashMap::newKeySet));
+    }
+}
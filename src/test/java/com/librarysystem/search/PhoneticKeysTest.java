@@ -0,0 +1,30 @@
+package com.librarysystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneticKeysTest {
+
+    @Test
+    void of_ShouldGiveSameKeysToNamesThatSoundAlike() {
+        // When
+        List<String> stored = PhoneticKeys.of("John", "Smith");
+        List<Set<String>> spoken = PhoneticKeys.perWord("Jon Smyth");
+
+        // Then
+        assertEquals(2, spoken.size());
+        assertTrue(spoken.stream().allMatch(codes -> !Collections.disjoint(codes, stored)));
+    }
+
+    @Test
+    void perWord_ShouldSplitOnPunctuationAndIgnoreBlanks() {
+        // When & Then
+        assertTrue(PhoneticKeys.perWord("  ").isEmpty());
+        assertEquals(2, PhoneticKeys.perWord("Mary-Jane").size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.librarysystem.search;
+
+import com.librarysystem.model.Author;
+import com.librarysystem.model.Book;
+import com.librarysystem.service.AuthorMatchService;
+import com.librarysystem.service.SuggestService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexListenerTest {
+
+    @Mock
+    private SuggestService suggestService;
+
+    @Mock
+    private AuthorMatchService authorMatchService;
+
+    @InjectMocks
+    private SearchIndexListener listener;
+
+    @Test
+    void onAfterSave_ShouldIndexBook_WhenBookIsSaved() {
+        // Given
+        Book book = createBook();
+
+        // When
+        listener.onAfterSave(new AfterSaveEvent<>(book, new Document(), "books"));
+
+        // Then
+        verify(suggestService).indexBook(book);
+    }
+
+    @Test
+    void onAfterSave_ShouldSkipBook_WhenOnlyAvailabilityChanged() {
+        // Given
+        Book book = createBook();
+
+        // When
+        AvailabilityUpdate.run(() -> {
+            listener.onAfterSave(new AfterSaveEvent<>(book, new Document(), "books"));
+            return book;
+        });
+
+        // Then
+        verifyNoInteractions(suggestService, authorMatchService);
+    }
+
+    @Test
+    void onAfterSave_ShouldIndexAuthorInBothIndexes_WhenAuthorIsSaved() {
+        // Given
+        Author author = new Author();
+        author.setId("author1");
+
+        // When
+        listener.onAfterSave(new AfterSaveEvent<>(author, new Document(), "authors"));
+
+        // Then
+        verify(suggestService).indexAuthor(author);
+        verify(authorMatchService).indexAuthor(author);
+    }
+
+    @Test
+    void onAfterDelete_ShouldRemoveAuthor_WhenAuthorIsDeleted() {
+        // When
+        listener.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "author1"), Object.class, "authors"));
+
+        // Then
+        verify(suggestService).removeAuthor("author1");
+        verify(authorMatchService).removeAuthor("author1");
+    }
+
+    private Book createBook() {
+        Book book = new Book();
+        book.setId("book1");
+        book.setTitle("Test Book");
+        return book;
+    }
+}
@@ -0,0 +1,77 @@
+package com.librarysystem.search;
+
+import com.librarysystem.model.Suggestion;
+import com.librarysystem.model.Suggestion.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+        trie.put(Type.BOOK, "1", "The Lord of the Rings", 50);
+        trie.put(Type.BOOK, "2", "The Lorax", 10);
+        trie.put(Type.BOOK, "3", "Lord of the Flies", 30);
+        trie.put(Type.AUTHOR, "4", "Fyodor Dostoevsky", 20);
+    }
+
+    @Test
+    void suggest_ShouldRankCompletionsByScore() {
+        // When
+        List<Suggestion> result = trie.suggest("the lor", null, 10);
+
+        // Then
+        assertEquals(List.of("1", "2"), result.stream().map(Suggestion::getId).toList());
+    }
+
+    @Test
+    void suggest_ShouldMatchWordStartsAndIgnoreCaseAndAccents() {
+        // When
+        List<Suggestion> lord = trie.suggest("L\u00d6RD", null, 10);
+        List<Suggestion> dosto = trie.suggest("dosto", Type.AUTHOR, 10);
+
+        // Then
+        assertEquals(List.of("1", "3"), lord.stream().map(Suggestion::getId).toList());
+        assertEquals("Fyodor Dostoevsky", dosto.get(0).getText());
+    }
+
+    @Test
+    void suggest_ShouldRespectLimitAndTypeFilter() {
+        // When
+        List<Suggestion> limited = trie.suggest("l", null, 1);
+        List<Suggestion> authors = trie.suggest("lord", Type.AUTHOR, 10);
+
+        // Then
+        assertEquals(1, limited.size());
+        assertEquals("1", limited.get(0).getId());
+        assertTrue(authors.isEmpty());
+    }
+
+    @Test
+    void put_ShouldReplaceAndRemoveEntries() {
+        // When
+        trie.put(Type.BOOK, "2", "Green Eggs and Ham", 10);
+        trie.remove(Type.BOOK, "3");
+
+        // Then
+        assertEquals(List.of("1"), trie.suggest("lor", null, 10).stream().map(Suggestion::getId).toList());
+        assertEquals("2", trie.suggest("eggs", null, 10).get(0).getId());
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void addScore_ShouldChangeRanking() {
+        // When
+        trie.addScore(Type.BOOK, "3", 100);
+
+        // Then
+        assertEquals("3", trie.suggest("lord", null, 10).get(0).getId());
+    }
+}
@@ -0,0 +1,154 @@
+package com.librarysystem.service;
+
+import com.librarysystem.model.AccountSummary;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.Loan;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSummaryServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BorrowerService borrowerService;
+
+    @InjectMocks
+    private AccountSummaryService accountSummaryService;
+
+    private Borrower testBorrower;
+
+    @BeforeEach
+    void setUp() {
+        testBorrower = new Borrower();
+        testBorrower.setId("borrower1");
+        testBorrower.setActive(true);
+    }
+
+    @Test
+    void getSummary_ShouldReturnLoansFinesAndQuota_WhenBorrowerExists() {
+        // Given
+        AccountSummaryService.LoanFacets facets = new AccountSummaryService.LoanFacets();
+        facets.setActiveLoans(List.of(createLoan("1"), createLoan("2")));
+        facets.setOverdueLoans(List.of(createLoan("2")));
+        facets.setFines(List.of(fineTotal(3.5)));
+        when(borrowerService.findById("borrower1")).thenReturn(Optional.of(testBorrower));
+        stubAggregation(facets);
+
+        // When
+        Optional<AccountSummary> result = accountSummaryService.getSummary("borrower1");
+
+        // Then
+        assertTrue(result.isPresent());
+        AccountSummary summary = result.get();
+        assertSame(testBorrower, summary.getBorrower());
+        assertEquals(2, summary.getActiveLoanCount());
+        assertEquals(1, summary.getOverdueLoans().size());
+        assertEquals(3.5, summary.getTotalFines());
+        assertEquals(LoanService.MAX_LOANS_PER_BORROWER - 2, summary.getRemainingLoanQuota());
+        assertTrue(summary.isCanBorrow());
+    }
+
+    @Test
+    void getSummary_ShouldReportNoFines_WhenBorrowerHasNoLoans() {
+        // Given
+        when(borrowerService.findById("borrower1")).thenReturn(Optional.of(testBorrower));
+        stubAggregation(new AccountSummaryService.LoanFacets());
+
+        // When
+        AccountSummary summary = accountSummaryService.getSummary("borrower1").orElseThrow();
+
+        // Then
+        assertEquals(0, summary.getActiveLoanCount());
+        assertEquals(0.0, summary.getTotalFines());
+        assertEquals(LoanService.MAX_LOANS_PER_BORROWER, summary.getRemainingLoanQuota());
+    }
+
+    @Test
+    void getSummary_ShouldNotAllowBorrowing_WhenQuotaIsUsedUp() {
+        // Given
+        AccountSummaryService.LoanFacets facets = new AccountSummaryService.LoanFacets();
+        facets.setActiveLoans(Collections.nCopies(LoanService.MAX_LOANS_PER_BORROWER, createLoan("1")));
+        when(borrowerService.findById("borrower1")).thenReturn(Optional.of(testBorrower));
+        stubAggregation(facets);
+
+        // When
+        AccountSummary summary = accountSummaryService.getSummary("borrower1").orElseThrow();
+
+        // Then
+        assertEquals(0, summary.getRemainingLoanQuota());
+        assertFalse(summary.isCanBorrow());
+    }
+
+    @Test
+    void getSummary_ShouldNotAllowBorrowing_WhenBorrowerIsInactive() {
+        // Given
+        testBorrower.setActive(false);
+        when(borrowerService.findById("borrower1")).thenReturn(Optional.of(testBorrower));
+        stubAggregation(new AccountSummaryService.LoanFacets());
+
+        // When
+        AccountSummary summary = accountSummaryService.getSummary("borrower1").orElseThrow();
+
+        // Then
+        assertFalse(summary.isCanBorrow());
+    }
+
+    @Test
+    void getSummary_ShouldReturnEmpty_WhenBorrowerDoesNotExist() {
+        // Given
+        when(borrowerService.findById("999")).thenReturn(Optional.empty());
+
+        // When
+        Optional<AccountSummary> result = accountSummaryService.getSummary("999");
+
+        // Then
+        assertFalse(result.isPresent());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void cacheKey_ShouldChangeWithTheDay() {
+        assertEquals("borrower1:" + LocalDate.now(), AccountSummaryService.cacheKey("borrower1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubAggregation(AccountSummaryService.LoanFacets facets) {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(AccountSummaryService.LoanFacets.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+    }
+
+    private Loan createLoan(String id) {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setBookId("book" + id);
+        loan.setBorrowerId("borrower1");
+        return loan;
+    }
+
+    private AccountSummaryService.FineTotal fineTotal(double total) {
+        AccountSummaryService.FineTotal fineTotal = new AccountSummaryService.FineTotal();
+        fineTotal.setTotal(total);
+        return fineTotal;
+    }
+}
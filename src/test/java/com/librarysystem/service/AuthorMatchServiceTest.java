@@ -0,0 +1,87 @@
+package com.librarysystem.service;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.model.Author;
+import com.librarysystem.repository.AuthorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorMatchServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    private AuthorMatchService authorMatchService;
+
+    @BeforeEach
+    void setUp() {
+        authorMatchService = new AuthorMatchService(authorRepository, new TenantProperties());
+    }
+
+    @Test
+    void findFuzzy_ShouldMatchMisspelledName_AfterRebuild() {
+        // Given
+        when(authorRepository.findAll()).thenReturn(List.of(createAuthor("1", "Fyodor", "Dostoevsky")));
+        authorMatchService.rebuild();
+
+        // When
+        List<Author> result = authorMatchService.findFuzzy("Dostoevski", null, 10);
+
+        // Then
+        assertEquals(List.of("1"), result.stream().map(Author::getId).toList());
+    }
+
+    @Test
+    void rebuild_ShouldKeepAuthorSavedWhileRebuilding() {
+        // Given
+        Author saved = createAuthor("2", "Leo", "Tolstoy");
+        when(authorRepository.findAll()).thenAnswer(invocation -> {
+            // Saved after the snapshot was read, before the rebuilt tree is swapped in
+            authorMatchService.indexAuthor(saved);
+            return List.of(createAuthor("1", "Fyodor", "Dostoevsky"));
+        });
+
+        // When
+        authorMatchService.rebuild();
+
+        // Then
+        assertEquals(List.of("2"), authorMatchService.findFuzzy("Tolstoi", null, 10).stream().map(Author::getId).toList());
+        assertEquals(List.of("1"), authorMatchService.findFuzzy("Dostoevsky", 0, 10).stream().map(Author::getId).toList());
+    }
+
+    @Test
+    void indexAuthor_ShouldReplaceOldNames_WhenAuthorIsRenamed() {
+        // Given
+        authorMatchService.indexAuthor(createAuthor("1", "Fyodor", "Dostoevsky"));
+
+        // When
+        authorMatchService.indexAuthor(createAuthor("1", "Fyodor", "Dostoyevsky"));
+
+        // Then
+        assertTrue(authorMatchService.findFuzzy("Dostoevsky", 0, 10).isEmpty());
+        assertEquals(1, authorMatchService.findFuzzy("Dostoyevsky", 0, 10).size());
+    }
+
+    @Test
+    void fullName_ShouldSkipMissingParts() {
+        assertEquals("Fyodor Dostoevsky", createAuthor("1", "Fyodor", "Dostoevsky").fullName());
+        assertEquals("Homer", createAuthor("2", null, "Homer").fullName());
+    }
+
+    private Author createAuthor(String id, String firstName, String lastName) {
+        Author author = new Author();
+        author.setId(id);
+        author.setFirstName(firstName);
+        author.setLastName(lastName);
+        return author;
+    }
+}
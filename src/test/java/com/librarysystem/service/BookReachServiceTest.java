@@ -0,0 +1,178 @@
+package com.librarysystem.service;
+
+import com.librarysystem.model.BookReach;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookReachServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    @Mock
+    private HyperLogLogOperations<String, String> hyperLogLogOperations;
+
+    @Test
+    void onLoanEvent_ShouldAddBorrowerToDailySketch_AndRefreshItsExpiry() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+        runPipelineOnConnection();
+
+        // When
+        service.onLoanEvent(createdEvent(DAY));
+
+        // Then
+        verify(connection).pfAdd("stats:reach:book:book1:2024-03-10", "borrower1");
+        verify(connection).expire("stats:reach:book:book1:2024-03-10", Duration.ofDays(366).toSeconds());
+    }
+
+    @Test
+    void onLoanEvent_ShouldUseBranchNamespace_WhenBranchIsSet() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+        runPipelineOnConnection();
+
+        // When
+        TenantContext.runAs("north", () -> service.onLoanEvent(createdEvent(DAY)));
+
+        // Then
+        verify(connection).pfAdd("branch:north:stats:reach:book:book1:2024-03-10", "borrower1");
+        verify(connection).expire("branch:north:stats:reach:book:book1:2024-03-10", Duration.ofDays(366).toSeconds());
+    }
+
+    @Test
+    void onLoanEvent_ShouldIgnoreEvent_WhenLoanIsNotCreated() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+        LoanEvent event = LoanEvent.of(LoanEvent.EventType.RETURNED, createLoan(DAY), null);
+
+        // When
+        service.onLoanEvent(event);
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void onLoanEvent_ShouldNotFail_WhenRedisIsUnavailable() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new QueryTimeoutException("Redis down"));
+
+        // When & Then
+        assertDoesNotThrow(() -> service.onLoanEvent(createdEvent(DAY)));
+    }
+
+    @Test
+    void getReach_ShouldCountAcrossOneSketchPerDayOfTheWindow() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+        when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        when(hyperLogLogOperations.size(any(String[].class))).thenReturn(42L);
+        LocalDate today = LocalDate.now();
+
+        // When
+        BookReach result = service.getReach("book1", 7);
+
+        // Then
+        String[] keys = captureCountedKeys();
+        assertEquals(7, keys.length);
+        assertEquals("stats:reach:book:book1:" + today.minusDays(6), keys[0]);
+        assertEquals("stats:reach:book:book1:" + today, keys[6]);
+        assertEquals(new BookReach("book1", today.minusDays(6), today, 42), result);
+    }
+
+    @Test
+    void getReach_ShouldCountOnlyTheBranchsSketches_WhenBranchIsSet() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+        when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        when(hyperLogLogOperations.size(any(String[].class))).thenReturn(3L);
+
+        // When
+        TenantContext.runAs("north", () -> service.getReach("book1", 1));
+
+        // Then
+        assertArrayEquals(new String[]{"branch:north:stats:reach:book:book1:" + LocalDate.now()}, captureCountedKeys());
+    }
+
+    @Test
+    void getReach_ShouldAcceptAFullYear_AndReportZero_WhenNothingWasRecorded() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+        when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        when(hyperLogLogOperations.size(any(String[].class))).thenReturn(null);
+
+        // When
+        BookReach result = service.getReach("book1", 365);
+
+        // Then
+        assertEquals(365, captureCountedKeys().length);
+        assertEquals(LocalDate.now().minusDays(364), result.getFrom());
+        assertEquals(0, result.getUniqueReaders());
+    }
+
+    @Test
+    void getReach_ShouldThrow_WhenDaysAreOutOfRange() {
+        // Given
+        BookReachService service = new BookReachService(redisTemplate);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> service.getReach("book1", 0));
+        assertThrows(RuntimeException.class, () -> service.getReach("book1", 366));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runPipelineOnConnection() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<Object> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    private String[] captureCountedKeys() {
+        ArgumentCaptor<String[]> keys = ArgumentCaptor.forClass(String[].class);
+        verify(hyperLogLogOperations).size(keys.capture());
+        return keys.getValue();
+    }
+
+    private LoanEvent createdEvent(LocalDate loanDate) {
+        return LoanEvent.of(LoanEvent.EventType.CREATED, createLoan(loanDate), null);
+    }
+
+    private Loan createLoan(LocalDate loanDate) {
+        Loan loan = new Loan();
+        loan.setId("loan1");
+        loan.setBookId("book1");
+        loan.setBorrowerId("borrower1");
+        loan.setLoanDate(loanDate);
+        return loan;
+    }
+}
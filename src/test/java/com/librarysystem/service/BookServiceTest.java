@@ -66,6 +66,24 @@ class BookServiceTest {
         verify(bookRepository).findById("999");
     }
 
+    @Test
+    void findAllByIds_ShouldReturnBooksInRequestedOrder_WithSingleQuery() {
+        // Given
+        Book otherBook = new Book();
+        otherBook.setId("2");
+        otherBook.setTitle("Other Book");
+        when(bookRepository.findAllById(List.of("2", "1", "999"))).thenReturn(List.of(testBook, otherBook));
+
+        // When
+        List<Book> result = bookService.findAllByIds(List.of("2", "1", "2", "999"));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("2", result.get(0).getId());
+        assertEquals("1", result.get(1).getId());
+        verify(bookRepository).findAllById(List.of("2", "1", "999"));
+    }
+
     @Test
     void save_ShouldSaveBook_WhenValidBook() {
         // Given
@@ -0,0 +1,80 @@
+package com.librarysystem.service;
+
+import com.librarysystem.cache.BatchCacheLoader;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.repository.BorrowerRepository;
+import com.librarysystem.search.PhoneticKeys;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BorrowerServiceTest {
+
+    @Mock
+    private BorrowerRepository borrowerRepository;
+
+    @Mock
+    private BatchCacheLoader batchCacheLoader;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private BorrowerService borrowerService;
+
+    @Test
+    void searchPhonetic_ShouldRequireEveryWordAndLimitOnServer() {
+        // Given
+        Borrower borrower = new Borrower();
+        borrower.setId("1");
+        when(mongoTemplate.find(any(Query.class), eq(Borrower.class))).thenReturn(List.of(borrower));
+
+        // When
+        List<Borrower> result = borrowerService.searchPhonetic("Jon Smyth", 20);
+
+        // Then
+        assertEquals(List.of(borrower), result);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Borrower.class));
+        assertEquals(20, query.getValue().getLimit());
+        assertEquals(new Document("lastName", 1).append("firstName", 1), query.getValue().getSortObject());
+        List<?> codesPerClause = query.getValue().getQueryObject().getList("$and", Document.class).stream()
+                .map(clause -> Set.copyOf(clause.get("phoneticKeys", Document.class).get("$in", Collection.class)))
+                .toList();
+        assertEquals(PhoneticKeys.perWord("Jon Smyth"), codesPerClause);
+        verifyNoInteractions(borrowerRepository);
+    }
+
+    @Test
+    void searchPhonetic_ShouldReturnEmpty_WhenNameHasNoWords() {
+        // When
+        List<Borrower> result = borrowerService.searchPhonetic("  ", 20);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void searchPhonetic_ShouldThrow_WhenLimitIsOutOfRange() {
+        assertThrows(RuntimeException.class, () -> borrowerService.searchPhonetic("Jon", 0));
+        assertThrows(RuntimeException.class, () -> borrowerService.searchPhonetic("Jon", BorrowerService.MAX_PHONETIC_LIMIT + 1));
+        verifyNoInteractions(mongoTemplate);
+    }
+}
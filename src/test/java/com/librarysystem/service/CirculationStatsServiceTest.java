@@ -0,0 +1,196 @@
+package com.librarysystem.service;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.model.Book;
+import com.librarysystem.model.CirculationRollup;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.repository.BookRepository;
+import com.librarysystem.repository.CirculationRollupRepository;
+import com.librarysystem.repository.LoanRepository;
+import com.librarysystem.tenant.TenantContext;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CirculationStatsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CirculationRollupRepository rollupRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private TenantProperties tenantProperties;
+
+    @InjectMocks
+    private CirculationStatsService circulationStatsService;
+
+    @Test
+    void onLoanEvent_ShouldIncrementLoansOfTheLoanDay_WhenLoanIsCreated() {
+        // Given
+        Loan loan = createLoan("1", DAY, DAY.plusDays(14), null);
+        LoanEvent event = LoanEvent.of(LoanEvent.EventType.CREATED, loan, "Science Fiction");
+
+        // When
+        circulationStatsService.onLoanEvent(event);
+
+        // Then
+        Document increments = captureIncrements();
+        assertEquals(1, increments.get("loans"));
+        assertEquals(1, increments.get("genres.science fiction.loans"));
+    }
+
+    @Test
+    void onLoanEvent_ShouldCountLateReturn_WhenReturnedAfterDueDate() {
+        // Given
+        Loan loan = createLoan("1", DAY.minusDays(20), DAY.minusDays(6), DAY);
+        LoanEvent event = LoanEvent.of(LoanEvent.EventType.RETURNED, loan, null);
+
+        // When
+        circulationStatsService.onLoanEvent(event);
+
+        // Then
+        Document increments = captureIncrements();
+        assertEquals(1, increments.get("returns"));
+        assertEquals(1, increments.get("lateReturns"));
+        assertEquals(1, increments.get("genres.unknown.lateReturns"));
+    }
+
+    @Test
+    void onLoanEvent_ShouldIgnoreDeletedLoans() {
+        // Given
+        LoanEvent event = LoanEvent.of(LoanEvent.EventType.DELETED, createLoan("1", DAY, DAY.plusDays(14), null), null);
+
+        // When
+        circulationStatsService.onLoanEvent(event);
+
+        // Then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void onLoanEvent_ShouldNotThrow_WhenRollupWriteFails() {
+        // Given
+        LoanEvent event = LoanEvent.of(LoanEvent.EventType.CREATED, createLoan("1", DAY, DAY.plusDays(14), null), "Fiction");
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(CirculationRollup.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        // When & Then
+        assertDoesNotThrow(() -> circulationStatsService.onLoanEvent(event));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldRecountFromLoansAndKeepEventOnlyCounts() {
+        // Given
+        Loan onTime = createLoan("1", DAY, DAY.plusDays(14), null);
+        onTime.setBookId("book1");
+        Loan late = createLoan("2", DAY.minusDays(30), DAY.minusDays(16), DAY);
+        late.setBookId("book2");
+        CirculationRollup previous = new CirculationRollup();
+        previous.setId(DAY.toString());
+        previous.setDate(DAY);
+        previous.setRenewals(3);
+        previous.setLoans(99);
+        when(loanRepository.findLoansByDateRange(DAY, DAY)).thenReturn(List.of(onTime));
+        when(loanRepository.findReturnsInDateRange(DAY, DAY)).thenReturn(List.of(late));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(createBook("book1", "Fiction"), createBook("book2", "History")));
+        when(rollupRepository.findByDateRange(eq(DAY), eq(DAY), any(Sort.class))).thenReturn(List.of(previous));
+
+        // When
+        circulationStatsService.rebuild(DAY, DAY);
+
+        // Then
+        ArgumentCaptor<Collection<CirculationRollup>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).saveAll(saved.capture());
+        CirculationRollup rollup = new ArrayList<>(saved.getValue()).get(0);
+        assertEquals(1, rollup.getLoans());
+        assertEquals(1, rollup.getReturns());
+        assertEquals(1, rollup.getLateReturns());
+        assertEquals(3, rollup.getRenewals());
+        assertEquals(1, rollup.getGenres().get("fiction").getLoans());
+        assertEquals(1, rollup.getGenres().get("history").getLateReturns());
+    }
+
+    @Test
+    void rebuildRecent_ShouldRebuildEveryBranch() {
+        // Given
+        List<String> rebuiltBranches = new ArrayList<>();
+        when(tenantProperties.databaseBranches()).thenReturn(Arrays.asList(null, "north"));
+        when(loanRepository.findLoansByDateRange(any(), any())).thenAnswer(invocation -> {
+            rebuiltBranches.add(TenantContext.current());
+            return List.of();
+        });
+
+        // When
+        circulationStatsService.rebuildRecent();
+
+        // Then
+        assertEquals(Arrays.asList(null, "north"), rebuiltBranches);
+        verify(rollupRepository, times(2)).saveAll(any());
+    }
+
+    @Test
+    void findRollups_ShouldThrowException_WhenRangeIsReversed() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> circulationStatsService.findRollups(DAY, DAY.minusDays(1)));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Document captureIncrements() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(CirculationRollup.class));
+        return new Document((Map<String, Object>) update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    private Loan createLoan(String id, LocalDate loanDate, LocalDate dueDate, LocalDate returnDate) {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setBookId("book1");
+        loan.setBorrowerId("borrower1");
+        loan.setLoanDate(loanDate);
+        loan.setDueDate(dueDate);
+        loan.setReturnDate(returnDate);
+        return loan;
+    }
+
+    private Book createBook(String id, String genre) {
+        Book book = new Book();
+        book.setId(id);
+        book.setGenre(genre);
+        return book;
+    }
+}
@@ -0,0 +1,188 @@
+package com.librarysystem.service;
+
+import com.librarysystem.model.LeaderboardEntry;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Test
+    void onLoanEvent_ShouldIncrementBookAndGenreInEveryPeriod_WhenLoanIsCreated() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 1000, () -> false);
+        runPipelineOnConnection();
+
+        // When
+        service.onLoanEvent(createdEvent(DAY, "Science Fiction"));
+
+        // Then
+        verify(connection).zIncrBy("stats:top-books:day:2024-03-10", 1, "book1");
+        verify(connection).zIncrBy("stats:top-books:week:2024-W10", 1, "book1");
+        verify(connection).zIncrBy("stats:top-books:month:2024-03", 1, "book1");
+        verify(connection).zIncrBy("stats:top-genres:day:2024-03-10", 1, "Science Fiction");
+        verify(connection).zIncrBy("stats:top-genres:week:2024-W10", 1, "Science Fiction");
+        verify(connection).zIncrBy("stats:top-genres:month:2024-03", 1, "Science Fiction");
+        verify(connection).expire("stats:top-books:day:2024-03-10", Duration.ofDays(8).toSeconds());
+        verify(connection).expire("stats:top-books:week:2024-W10", Duration.ofDays(35).toSeconds());
+        verify(connection).expire("stats:top-books:month:2024-03", Duration.ofDays(400).toSeconds());
+        verify(connection, never()).zRemRange(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void onLoanEvent_ShouldBucketByIsoWeekYear_WhenWeekSpansNewYear() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 1000, () -> false);
+        runPipelineOnConnection();
+
+        // When
+        service.onLoanEvent(createdEvent(LocalDate.of(2024, 12, 30), null));
+
+        // Then
+        verify(connection).zIncrBy("stats:top-books:day:2024-12-30", 1, "book1");
+        verify(connection).zIncrBy("stats:top-books:week:2025-W01", 1, "book1");
+        verify(connection).zIncrBy("stats:top-books:month:2024-12", 1, "book1");
+        verify(connection, never()).zIncrBy(startsWith("stats:top-genres:"), anyDouble(), anyString());
+    }
+
+    @Test
+    void onLoanEvent_ShouldTrimEverySetToCapacity_WhenSampled() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 10, () -> true);
+        runPipelineOnConnection();
+
+        // When
+        service.onLoanEvent(createdEvent(DAY, "Science Fiction"));
+
+        // Then
+        verify(connection).zRemRange("stats:top-books:day:2024-03-10", 0, -11);
+        verify(connection).zRemRange("stats:top-genres:month:2024-03", 0, -11);
+        verify(connection, times(6)).zRemRange(anyString(), eq(0L), eq(-11L));
+    }
+
+    @Test
+    void onLoanEvent_ShouldUseBranchNamespace_WhenBranchIsSet() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 1000, () -> false);
+        runPipelineOnConnection();
+
+        // When
+        TenantContext.runAs("north", () -> service.onLoanEvent(createdEvent(DAY, null)));
+
+        // Then
+        verify(connection).zIncrBy("branch:north:stats:top-books:day:2024-03-10", 1, "book1");
+    }
+
+    @Test
+    void onLoanEvent_ShouldIgnoreEvent_WhenLoanIsNotCreated() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 1000, () -> false);
+        Loan loan = createLoan(DAY);
+        LoanEvent event = LoanEvent.of(LoanEvent.EventType.RETURNED, loan, "Science Fiction");
+
+        // When
+        service.onLoanEvent(event);
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void onLoanEvent_ShouldNotFail_WhenRedisIsUnavailable() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 1000, () -> false);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new QueryTimeoutException("Redis down"));
+
+        // When & Then
+        assertDoesNotThrow(() -> service.onLoanEvent(createdEvent(DAY, "Science Fiction")));
+    }
+
+    @Test
+    void topBooks_ShouldReturnEntriesByScore_WhenBucketExists() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 1000, () -> false);
+        Set<TypedTuple<String>> entries = new LinkedHashSet<>();
+        entries.add(new DefaultTypedTuple<>("book2", 7.0));
+        entries.add(new DefaultTypedTuple<>("book1", 3.0));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores("stats:top-books:week:2024-W10", 0, 4)).thenReturn(entries);
+
+        // When
+        List<LeaderboardEntry> result = service.topBooks(LeaderboardService.Period.WEEK, DAY, 5);
+
+        // Then
+        assertEquals(List.of(new LeaderboardEntry("book2", 7), new LeaderboardEntry("book1", 3)), result);
+    }
+
+    @Test
+    void topGenres_ShouldThrow_WhenLimitIsOutOfRange() {
+        // Given
+        LeaderboardService service = new LeaderboardService(redisTemplate, 1000, () -> false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> service.topGenres(LeaderboardService.Period.DAY, DAY, 0));
+        assertThrows(RuntimeException.class, () -> service.topGenres(LeaderboardService.Period.DAY, DAY, 101));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void parse_ShouldAcceptAnyCase_AndRejectUnknownPeriods() {
+        assertEquals(LeaderboardService.Period.MONTH, LeaderboardService.Period.parse(" Month "));
+        assertThrows(RuntimeException.class, () -> LeaderboardService.Period.parse("year"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runPipelineOnConnection() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<Object> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    private LoanEvent createdEvent(LocalDate loanDate, String genre) {
+        return LoanEvent.of(LoanEvent.EventType.CREATED, createLoan(loanDate), genre);
+    }
+
+    private Loan createLoan(LocalDate loanDate) {
+        Loan loan = new Loan();
+        loan.setId("loan1");
+        loan.setBookId("book1");
+        loan.setBorrowerId("borrower1");
+        loan.setLoanDate(loanDate);
+        return loan;
+    }
+}
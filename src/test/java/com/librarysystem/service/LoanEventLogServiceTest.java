@@ -0,0 +1,132 @@
+package com.librarysystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.events.JsonLinesFile;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.model.LoanEventRecord;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanEventLogServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Captor
+    private ArgumentCaptor<List<LoanEventRecord>> inserted;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private Path spillPath;
+    private LoanEventLogService service;
+
+    @BeforeEach
+    void setUp() {
+        spillPath = tempDir.resolve("spill.jsonl");
+        service = new LoanEventLogService(mongoTemplate, objectMapper, 200, Duration.ofMillis(100), 100, 1,
+                Duration.ofMillis(1), spillPath.toString(), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.flush();
+    }
+
+    @Test
+    void findAfter_ShouldPageBySequence_AndHoldBackUnsettledEvents() {
+        // When
+        service.findAfter(41L, 100);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(LoanEventRecord.class));
+        Document criteria = query.getValue().getQueryObject();
+        assertEquals(new Document("$gt", 41L), criteria.get("sequence"));
+        assertTrue(((Document) criteria.get("recordedAt")).containsKey("$lt"));
+        assertEquals(new Document("sequence", 1), query.getValue().getSortObject());
+        assertEquals(100, query.getValue().getLimit());
+    }
+
+    @Test
+    void findAfter_ShouldThrow_WhenLimitIsOutOfRange() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> service.findAfter(null, 0));
+        assertThrows(RuntimeException.class, () -> service.findAfter(null, LoanEventLogService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void importSpilled_ShouldNumberAndInsertSpilledEvents_AndDeleteTheFile() {
+        // Given
+        LoanEventRecord record = createRecord();
+        new JsonLinesFile(objectMapper, spillPath).append(List.of(new LoanEventLogService.PendingRecord(null, record)));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq("sequences"))).thenReturn(new Document("value", 7L));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LoanEventRecord.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        // When
+        service.importSpilled();
+
+        // Then
+        verify(bulkOperations).insert(inserted.capture());
+        assertEquals(record.getId(), inserted.getValue().get(0).getId());
+        assertEquals(7L, inserted.getValue().get(0).getSequence());
+        assertNotNull(inserted.getValue().get(0).getRecordedAt());
+        assertFalse(Files.exists(spillPath));
+        assertFalse(Files.exists(tempDir.resolve("spill.jsonl.importing")));
+    }
+
+    @Test
+    void importSpilled_ShouldKeepSpilledEvents_WhenDatabaseIsStillDown() {
+        // Given
+        new JsonLinesFile(objectMapper, spillPath).append(List.of(new LoanEventLogService.PendingRecord(null, createRecord())));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq("sequences"))).thenThrow(new DataAccessResourceFailureException("Mongo down"));
+
+        // When
+        service.importSpilled();
+
+        // Then
+        assertTrue(Files.exists(tempDir.resolve("spill.jsonl.importing")));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+    }
+
+    private LoanEventRecord createRecord() {
+        Loan loan = new Loan();
+        loan.setId("loan1");
+        loan.setBookId("book1");
+        loan.setBorrowerId("borrower1");
+        return LoanEventRecord.from(LoanEvent.of(LoanEvent.EventType.CREATED, loan, "Fiction"));
+    }
+}
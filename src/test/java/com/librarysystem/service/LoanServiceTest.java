@@ -0,0 +1,313 @@
+package com.librarysystem.service;
+
+import com.librarysystem.model.Book;
+import com.librarysystem.model.Borrower;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.Loan.LoanStatus;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.model.LoanEvent.EventType;
+import com.librarysystem.model.LoanView;
+import com.librarysystem.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BorrowerService borrowerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LoanService loanService;
+
+    private Book testBook;
+    private Borrower testBorrower;
+    private Loan testLoan;
+
+    @BeforeEach
+    void setUp() {
+        testBook = new Book();
+        testBook.setId("book1");
+        testBook.setGenre("Science Fiction");
+
+        testBorrower = new Borrower();
+        testBorrower.setId("borrower1");
+        testBorrower.setActive(true);
+
+        testLoan = new Loan();
+        testLoan.setId("loan1");
+        testLoan.setBookId("book1");
+        testLoan.setBorrowerId("borrower1");
+    }
+
+    @Test
+    void createLoan_ShouldPublishCreatedEventWithGenre_WhenLoanIsValid() {
+        // Given
+        when(bookService.isBookAvailable("book1")).thenReturn(true);
+        when(borrowerService.findById("borrower1")).thenReturn(Optional.of(testBorrower));
+        when(loanRepository.countByBorrowerIdAndStatus("borrower1", LoanStatus.ACTIVE)).thenReturn(0L);
+        when(loanRepository.findByBorrowerIdAndStatus("borrower1", LoanStatus.ACTIVE)).thenReturn(List.of());
+        when(bookService.borrowBook("book1")).thenReturn(testBook);
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            Loan saved = invocation.getArgument(0);
+            saved.setId("loan1");
+            return saved;
+        });
+
+        // When
+        Loan result = loanService.createLoan("book1", "borrower1", null, null);
+
+        // Then
+        LoanEvent event = capturePublishedEvent();
+        assertEquals(EventType.CREATED, event.getType());
+        assertEquals("loan1", event.getLoanId());
+        assertEquals("borrower1", event.getBorrowerId());
+        assertEquals("Science Fiction", event.getGenre());
+        assertEquals(LoanStatus.ACTIVE, event.getStatus());
+        assertEquals("loan1", result.getId());
+    }
+
+    @Test
+    void createLoan_ShouldNotPublishEvent_WhenBookIsUnavailable() {
+        // Given
+        when(bookService.isBookAvailable("book1")).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> loanService.createLoan("book1", "borrower1", null, null));
+        verify(loanRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createLoan_ShouldReturnSavedLoan_WhenRetriedAfterFailureFollowingSave() {
+        // Given
+        List<Loan> saved = new ArrayList<>();
+        when(loanRepository.findByIdempotencyKey("key1"))
+                .thenAnswer(invocation -> saved.stream().findFirst());
+        when(bookService.isBookAvailable("book1")).thenReturn(true);
+        when(borrowerService.findById("borrower1")).thenReturn(Optional.of(testBorrower));
+        when(loanRepository.countByBorrowerIdAndStatus("borrower1", LoanStatus.ACTIVE)).thenReturn(0L);
+        when(loanRepository.findByBorrowerIdAndStatus("borrower1", LoanStatus.ACTIVE)).thenReturn(List.of());
+        when(bookService.borrowBook("book1")).thenReturn(testBook);
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            Loan loan = invocation.getArgument(0);
+            loan.setId("loan1");
+            saved.add(loan);
+            return loan;
+        });
+        doThrow(new DataAccessResourceFailureException("Timed out after the save"))
+                .when(eventPublisher).publishEvent(any(LoanEvent.class));
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> loanService.createLoan("book1", "borrower1", null, "key1"));
+
+        // When
+        Loan result = loanService.createLoan("book1", "borrower1", null, "key1");
+
+        // Then
+        assertEquals("loan1", result.getId());
+        assertEquals("key1", result.getIdempotencyKey());
+        verify(bookService, times(1)).borrowBook("book1");
+        verify(loanRepository, times(1)).save(any(Loan.class));
+    }
+
+    @Test
+    void createLoan_ShouldUndoBorrow_WhenConcurrentRetrySavedFirst() {
+        // Given
+        Loan winner = new Loan();
+        winner.setId("loan1");
+        winner.setIdempotencyKey("key1");
+        when(loanRepository.findByIdempotencyKey("key1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(bookService.isBookAvailable("book1")).thenReturn(true);
+        when(borrowerService.findById("borrower1")).thenReturn(Optional.of(testBorrower));
+        when(loanRepository.countByBorrowerIdAndStatus("borrower1", LoanStatus.ACTIVE)).thenReturn(0L);
+        when(loanRepository.findByBorrowerIdAndStatus("borrower1", LoanStatus.ACTIVE)).thenReturn(List.of());
+        when(bookService.borrowBook("book1")).thenReturn(testBook);
+        when(loanRepository.save(any(Loan.class))).thenThrow(new DuplicateKeyException("idempotencyKey"));
+
+        // When
+        Loan result = loanService.createLoan("book1", "borrower1", null, "key1");
+
+        // Then
+        assertSame(winner, result);
+        verify(bookService).returnBook("book1");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void returnBook_ShouldPublishReturnedEventWithGenre_WhenLoanIsActive() {
+        // Given
+        when(loanRepository.findById("loan1")).thenReturn(Optional.of(testLoan));
+        when(bookService.returnBook("book1")).thenReturn(testBook);
+        when(loanRepository.save(testLoan)).thenReturn(testLoan);
+
+        // When
+        loanService.returnBook("loan1");
+
+        // Then
+        LoanEvent event = capturePublishedEvent();
+        assertEquals(EventType.RETURNED, event.getType());
+        assertEquals(LoanStatus.RETURNED, event.getStatus());
+        assertEquals("Science Fiction", event.getGenre());
+        assertEquals(LocalDate.now(), event.getReturnDate());
+    }
+
+    @Test
+    void returnBook_ShouldNotPublishEvent_WhenLoanIsNotActive() {
+        // Given
+        testLoan.setStatus(LoanStatus.RETURNED);
+        when(loanRepository.findById("loan1")).thenReturn(Optional.of(testLoan));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> loanService.returnBook("loan1"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void renewLoan_ShouldPublishRenewedEvent_WhenLoanIsActive() {
+        // Given
+        LocalDate newDueDate = LocalDate.now().plusDays(28);
+        when(loanRepository.findById("loan1")).thenReturn(Optional.of(testLoan));
+        when(loanRepository.save(testLoan)).thenReturn(testLoan);
+
+        // When
+        loanService.renewLoan("loan1", newDueDate);
+
+        // Then
+        LoanEvent event = capturePublishedEvent();
+        assertEquals(EventType.RENEWED, event.getType());
+        assertEquals(newDueDate, event.getDueDate());
+        assertNull(event.getGenre());
+    }
+
+    @Test
+    void findOverdueLoans_ShouldPublishOverdueEvent_WhenActiveLoanIsPastDue() {
+        // Given
+        testLoan.setDueDate(LocalDate.now().minusDays(4));
+        when(loanRepository.findOverdueLoans(LocalDate.now())).thenReturn(List.of(testLoan));
+
+        // When
+        loanService.findOverdueLoans();
+
+        // Then
+        LoanEvent event = capturePublishedEvent();
+        assertEquals(EventType.OVERDUE, event.getType());
+        assertEquals(LoanStatus.OVERDUE, event.getStatus());
+    }
+
+    @Test
+    void deleteById_ShouldPublishDeletedEvent_WhenLoanExists() {
+        // Given
+        when(loanRepository.findById("loan1")).thenReturn(Optional.of(testLoan));
+
+        // When
+        loanService.deleteById("loan1");
+
+        // Then
+        verify(loanRepository).deleteById("loan1");
+        LoanEvent event = capturePublishedEvent();
+        assertEquals(EventType.DELETED, event.getType());
+        assertEquals("loan1", event.getLoanId());
+    }
+
+    @Test
+    void deleteById_ShouldNotPublishEvent_WhenLoanDoesNotExist() {
+        // Given
+        when(loanRepository.findById("999")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> loanService.deleteById("999"));
+        verify(loanRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void expand_ShouldEmbedBookAndBorrower_WithOneLookupPerType() {
+        // Given
+        Loan otherLoan = new Loan();
+        otherLoan.setId("loan2");
+        otherLoan.setBookId("book1");
+        otherLoan.setBorrowerId("borrower1");
+        when(bookService.findAllByIds(List.of("book1"))).thenReturn(List.of(testBook));
+        when(borrowerService.findAllByIds(List.of("borrower1"))).thenReturn(List.of(testBorrower));
+
+        // When
+        List<LoanView> result = loanService.expand(List.of(testLoan, otherLoan), List.of("Book", " borrower "));
+
+        // Then
+        assertEquals(2, result.size());
+        assertSame(testLoan, result.get(0).getLoan());
+        assertSame(testBook, result.get(0).getBook());
+        assertSame(testBorrower, result.get(1).getBorrower());
+        verify(bookService).findAllByIds(any());
+        verify(borrowerService).findAllByIds(any());
+    }
+
+    @Test
+    void expand_ShouldLeaveEntityEmpty_WhenReferencedEntityIsMissing() {
+        // Given
+        when(bookService.findAllByIds(List.of("book1"))).thenReturn(List.of());
+
+        // When
+        List<LoanView> result = loanService.expand(List.of(testLoan), List.of("book"));
+
+        // Then
+        assertSame(testLoan, result.get(0).getLoan());
+        assertNull(result.get(0).getBook());
+        assertNull(result.get(0).getBorrower());
+        verifyNoInteractions(borrowerService);
+    }
+
+    @Test
+    void expand_ShouldOnlyWrapLoans_WhenNothingIsExpanded() {
+        // When
+        List<LoanView> result = loanService.expand(List.of(testLoan), List.of());
+
+        // Then
+        assertSame(testLoan, result.get(0).getLoan());
+        assertNull(result.get(0).getBook());
+        verifyNoInteractions(bookService, borrowerService);
+    }
+
+    @Test
+    void expand_ShouldThrow_WhenExpandValueIsUnknown() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> loanService.expand(List.of(testLoan), List.of("book", "author")));
+        assertEquals("Unsupported expand value: author", exception.getMessage());
+        verifyNoInteractions(bookService, borrowerService);
+    }
+
+    private LoanEvent capturePublishedEvent() {
+        ArgumentCaptor<LoanEvent> event = ArgumentCaptor.forClass(LoanEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.librarysystem.service;
+
+import com.librarysystem.config.TenantProperties;
+import com.librarysystem.events.InMemoryOutboxPublisher;
+import com.librarysystem.events.OutboxPublisher;
+import com.librarysystem.events.OutboxRelayLease;
+import com.librarysystem.model.Loan;
+import com.librarysystem.model.LoanEvent;
+import com.librarysystem.model.OutboxMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private OutboxRelayLease relayLease;
+
+    private InMemoryOutboxPublisher publisher;
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        when(relayLease.getLeaseTime()).thenReturn(Duration.ofSeconds(30));
+        publisher = new InMemoryOutboxPublisher();
+        outboxService = createService(publisher);
+    }
+
+    @Test
+    void onLoanEvent_ShouldInsertOutboxMessage() {
+        // Given
+        LoanEvent event = LoanEvent.of(LoanEvent.EventType.CREATED, createLoan("1", "borrower1"), "Fiction");
+
+        // When
+        outboxService.onLoanEvent(event);
+
+        // Then
+        verify(mongoTemplate).insert(argThat((OutboxMessage message) ->
+                "borrower1".equals(message.getPartitionKey()) && message.getPayload() == event));
+    }
+
+    @Test
+    void drain_ShouldPublishInOrderAndRemovePublishedMessages() {
+        // Given
+        OutboxMessage first = message("1", "borrower1");
+        OutboxMessage second = message("2", "borrower1");
+        when(mongoTemplate.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(List.of(first, second));
+
+        // When
+        int published = outboxService.drain();
+
+        // Then
+        assertEquals(2, published);
+        assertEquals(List.of(first, second), publisher.getPublished());
+        verify(mongoTemplate).remove(any(Query.class), eq(OutboxMessage.class));
+    }
+
+    @Test
+    void relay_ShouldKeepMessagesWhenPublishingFails() {
+        // Given
+        OutboxPublisher failing = messages -> {
+            throw new IllegalStateException("Broker unavailable");
+        };
+        outboxService = createService(failing);
+        when(relayLease.tryAcquire()).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(List.of(message("1", "borrower1")));
+
+        // When
+        outboxService.relay();
+
+        // Then
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(OutboxMessage.class));
+    }
+
+    @Test
+    void relay_ShouldSkipDrain_WhenAnotherInstanceHoldsTheLease() {
+        // Given
+        when(relayLease.tryAcquire()).thenReturn(false);
+
+        // When
+        outboxService.relay();
+
+        // Then
+        verify(mongoTemplate, never()).find(any(Query.class), eq(OutboxMessage.class));
+        assertTrue(publisher.getPublished().isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenTransactionsAreDisabled() {
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new OutboxService(mongoTemplate, publisher, relayLease, new TenantProperties(), false));
+        assertTrue(exception.getMessage().contains("library.mongodb.transactions.enabled"));
+    }
+
+    private OutboxService createService(OutboxPublisher outboxPublisher) {
+        OutboxService service = new OutboxService(mongoTemplate, outboxPublisher, relayLease, new TenantProperties(), true);
+        ReflectionTestUtils.setField(service, "relayEnabled", true);
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        return service;
+    }
+
+    private OutboxMessage message(String loanId, String borrowerId) {
+        return OutboxMessage.of(LoanEvent.of(LoanEvent.EventType.CREATED, createLoan(loanId, borrowerId), null));
+    }
+
+    private Loan createLoan(String id, String borrowerId) {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setBookId("book1");
+        loan.setBorrowerId(borrowerId);
+        return loan;
+    }
+}
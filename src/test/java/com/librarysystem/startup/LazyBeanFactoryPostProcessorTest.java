@@ -0,0 +1,43 @@
+package com.librarysystem.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyBeanFactoryPostProcessorTest {
+
+    @Test
+    void postProcessBeanFactory_ShouldMarkMatchingBeansLazy() {
+        // Given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("docs", new RootBeanDefinition(StringBuilder.class));
+        beanFactory.registerBeanDefinition("core", new RootBeanDefinition(LazyBeanFactoryPostProcessorTest.class));
+        LazyBeanFactoryPostProcessor processor = new LazyBeanFactoryPostProcessor(List.of(" java.lang.StringBuilder ", ""));
+
+        // When
+        processor.postProcessBeanFactory(beanFactory);
+
+        // Then
+        assertTrue(beanFactory.getBeanDefinition("docs").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("core").isLazyInit());
+    }
+
+    @Test
+    void postProcessBeanFactory_ShouldLeavePrototypeBeansAlone() {
+        // Given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        RootBeanDefinition prototype = new RootBeanDefinition(StringBuilder.class);
+        prototype.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("docs", prototype);
+
+        // When
+        new LazyBeanFactoryPostProcessor(List.of("java.lang")).postProcessBeanFactory(beanFactory);
+
+        // Then
+        assertFalse(beanFactory.getBeanDefinition("docs").isLazyInit());
+    }
+}
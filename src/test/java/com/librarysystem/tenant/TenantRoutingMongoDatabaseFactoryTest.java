@@ -0,0 +1,82 @@
+package com.librarysystem.tenant;
+
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantRoutingMongoDatabaseFactoryTest {
+
+    @Mock
+    private MongoDatabaseFactory defaultFactory;
+
+    @Mock
+    private MongoDatabaseFactory northFactory;
+
+    @Mock
+    private MongoDatabase defaultDatabase;
+
+    @Mock
+    private MongoDatabase northDatabase;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void getMongoDatabase_ShouldUseDefaultDatabase_WhenNoBranchIsBound() {
+        // Given
+        when(defaultFactory.getMongoDatabase()).thenReturn(defaultDatabase);
+        TenantRoutingMongoDatabaseFactory factory = createFactory();
+
+        // When & Then
+        assertSame(defaultDatabase, factory.getMongoDatabase());
+        verifyNoInteractions(northFactory);
+    }
+
+    @Test
+    void getMongoDatabase_ShouldUseBranchDatabase_WhenBranchIsBound() {
+        // Given
+        when(northFactory.getMongoDatabase()).thenReturn(northDatabase);
+        TenantRoutingMongoDatabaseFactory factory = createFactory();
+
+        // When
+        MongoDatabase database = TenantContext.callAs("north", factory::getMongoDatabase);
+
+        // Then
+        assertSame(northDatabase, database);
+        assertNull(TenantContext.current());
+    }
+
+    @Test
+    void getMongoDatabase_ShouldThrowException_WhenBranchIsUnknown() {
+        // Given
+        TenantRoutingMongoDatabaseFactory factory = createFactory();
+        TenantContext.set("south");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, factory::getMongoDatabase);
+    }
+
+    @Test
+    void redisNamespace_ShouldOnlyPrefixNonDefaultBranches() {
+        // When & Then
+        assertEquals("", TenantContext.redisNamespace());
+        assertEquals("branch:north:", TenantContext.callAs("north", TenantContext::redisNamespace));
+    }
+
+    private TenantRoutingMongoDatabaseFactory createFactory() {
+        return new TenantRoutingMongoDatabaseFactory(defaultFactory, Map.of("north", northFactory), List.of());
+    }
+}
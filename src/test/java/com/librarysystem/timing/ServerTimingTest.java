@@ -0,0 +1,44 @@
+package com.librarysystem.timing;
+
+import com.librarysystem.timing.ServerTiming.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.end();
+    }
+
+    @Test
+    void headerValue_ShouldListRecordedCategoriesWithCounts() {
+        // Given
+        ServerTiming.begin();
+        ServerTiming.record(Category.MONGO, 2_000_000);
+        ServerTiming.record(Category.MONGO, 1_500_000);
+        ServerTiming.record(Category.SERIALIZATION, 400_000);
+
+        // When
+        String header = ServerTiming.headerValue();
+
+        // Then
+        assertTrue(header.startsWith("mongo;dur=3.5;desc=\"2 queries\", serialization;dur=0.4, total;dur="), header);
+        assertFalse(header.contains("cache"));
+    }
+
+    @Test
+    void record_ShouldDoNothing_WhenRequestIsNotTimed() {
+        // When
+        long start = ServerTiming.start();
+        ServerTiming.stop(Category.CACHE, start);
+        ServerTiming.record(Category.MONGO, 1_000_000);
+
+        // Then
+        assertEquals(0, start);
+        assertFalse(ServerTiming.isActive());
+        assertNull(ServerTiming.headerValue());
+    }
+}
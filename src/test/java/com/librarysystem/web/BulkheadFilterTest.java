@@ -0,0 +1,96 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadFilterTest {
+
+    @Mock
+    private FilterChain chain;
+
+    private Bulkhead exportBulkhead;
+    private BulkheadFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        EndpointClassifier classifier = new EndpointClassifier(Map.of(EndpointGroup.EXPORT, List.of("GET /api/export/**")));
+        exportBulkhead = new Bulkhead("export", 1, 0, Duration.ZERO);
+        filter = new BulkheadFilter(classifier, Map.of(EndpointGroup.EXPORT, exportBulkhead), new ObjectMapper().findAndRegisterModules());
+        request = new MockHttpServletRequest("GET", "/api/export/loans");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ShouldRunRequestHoldingPermit_WhenBulkheadHasRoom() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            assertEquals(1, exportBulkhead.getActive());
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(request, response);
+        assertEquals(0, exportBulkhead.getActive());
+    }
+
+    @Test
+    void doFilter_ShouldRejectWithServiceUnavailable_WhenBulkheadIsFull() throws Exception {
+        // Given
+        assertTrue(exportBulkhead.tryEnter());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verifyNoInteractions(chain);
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too many concurrent export requests"));
+        assertEquals(1, exportBulkhead.getActive());
+    }
+
+    @Test
+    void doFilter_ShouldReleasePermit_WhenRequestThrows() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("boom")).when(chain).doFilter(any(), any());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, response, chain));
+        assertEquals(0, exportBulkhead.getActive());
+    }
+
+    @Test
+    void doFilter_ShouldNotRestrict_WhenGroupHasNoBulkhead() throws Exception {
+        // Given
+        assertTrue(exportBulkhead.tryEnter());
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/books");
+
+        // When
+        filter.doFilter(other, response, chain);
+
+        // Then
+        verify(chain).doFilter(other, response);
+        assertEquals(200, response.getStatus());
+    }
+}
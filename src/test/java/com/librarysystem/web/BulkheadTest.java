@@ -0,0 +1,96 @@
+package com.librarysystem.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void tryEnter_ShouldGrantPermits_UpToMaxConcurrent() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("reports", 2, 0, Duration.ZERO);
+
+        // When & Then
+        assertTrue(bulkhead.tryEnter());
+        assertTrue(bulkhead.tryEnter());
+        assertEquals(2, bulkhead.getActive());
+        assertFalse(bulkhead.tryEnter());
+    }
+
+    @Test
+    void exit_ShouldReturnPermit() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("reports", 1, 0, Duration.ZERO);
+        assertTrue(bulkhead.tryEnter());
+
+        // When
+        bulkhead.exit();
+
+        // Then
+        assertEquals(0, bulkhead.getActive());
+        assertTrue(bulkhead.tryEnter());
+    }
+
+    @Test
+    void tryEnter_ShouldRejectImmediately_WhenQueueIsFull() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("reports", 1, 1, Duration.ofSeconds(5));
+        assertTrue(bulkhead.tryEnter());
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> enter(bulkhead));
+        awaitQueueDepth(bulkhead, 1);
+
+        // When
+        long start = System.nanoTime();
+        boolean entered = bulkhead.tryEnter();
+
+        // Then
+        assertFalse(entered);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        bulkhead.exit();
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getQueueDepth());
+    }
+
+    @Test
+    void tryEnter_ShouldGiveUp_WhenMaxWaitPassesInQueue() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("reports", 1, 1, Duration.ofMillis(20));
+        assertTrue(bulkhead.tryEnter());
+
+        // When
+        boolean entered = bulkhead.tryEnter();
+
+        // Then
+        assertFalse(entered);
+        assertEquals(0, bulkhead.getQueueDepth());
+        assertEquals(1, bulkhead.getActive());
+    }
+
+    @Test
+    void constructor_ShouldReject_WhenNoPermitsOrNegativeQueue() {
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("reports", 0, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("reports", 1, -1, Duration.ZERO));
+    }
+
+    private boolean enter(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void awaitQueueDepth(Bulkhead bulkhead, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, bulkhead.getQueueDepth());
+    }
+}
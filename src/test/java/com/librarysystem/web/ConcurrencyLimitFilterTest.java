@@ -0,0 +1,121 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.web.ConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private FilterChain chain;
+
+    private VegasLimit limit;
+    private ConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        EndpointClassifier classifier = new EndpointClassifier(Map.of(
+                EndpointGroup.CHECKOUT, List.of("POST /api/loans"),
+                EndpointGroup.SEARCH, List.of("GET /api/books/search")));
+        limit = spy(new VegasLimit(4, 4, 4, 0.5, 1000));
+        limiter = new ConcurrencyLimiter(limit, 0.75, 0.5);
+        filter = new ConcurrencyLimitFilter(classifier, limiter, new ObjectMapper().findAndRegisterModules());
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ShouldRunRequestHoldingSlot_WhenUnderLimit() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/search");
+        doAnswer(invocation -> {
+            assertEquals(1, limiter.getInFlight());
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(request, response);
+        assertEquals(0, limiter.getInFlight());
+        verify(limit).onSample(eq(EndpointGroup.SEARCH), anyLong(), eq(1), eq(false));
+    }
+
+    @Test
+    void doFilter_ShouldRejectWithServiceUnavailable_WhenSheddableShareIsUsed() throws Exception {
+        // Given
+        limiter.tryAcquire(Priority.SHEDDABLE);
+        limiter.tryAcquire(Priority.SHEDDABLE);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/books/search"), response, chain);
+
+        // Then
+        verifyNoInteractions(chain);
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void doFilter_ShouldAdmitCheckout_WhenSheddableShareIsUsed() throws Exception {
+        // Given
+        limiter.tryAcquire(Priority.SHEDDABLE);
+        limiter.tryAcquire(Priority.SHEDDABLE);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/loans");
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(request, response);
+        verify(limit).onSample(eq(EndpointGroup.CHECKOUT), anyLong(), eq(3), eq(false));
+    }
+
+    @Test
+    void doFilter_ShouldReportDrop_WhenResponseIsServerError() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.setStatus(503);
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/books/1"), response, chain);
+
+        // Then
+        verify(limit).onSample(eq(EndpointGroup.DEFAULT), anyLong(), eq(1), eq(true));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void doFilter_ShouldReleaseSlot_WhenRequestThrows() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("boom")).when(chain).doFilter(any(), any());
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("POST", "/api/loans"), response, chain));
+        assertEquals(0, limiter.getInFlight());
+        verify(limit).onSample(eq(EndpointGroup.CHECKOUT), anyLong(), eq(1), eq(true));
+    }
+}
@@ -0,0 +1,73 @@
+package com.librarysystem.web;
+
+import com.librarysystem.web.ConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimiterTest {
+
+    // Minimum equals maximum, so the limit stays at 10 whatever the samples say
+    private final VegasLimit limit = spy(new VegasLimit(10, 10, 10, 0.5, 1000));
+
+    @Test
+    void tryAcquire_ShouldAdmitCriticalRequestsUpToTheLimit() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limit, 0.9, 0.5);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL) >= 0);
+        }
+
+        // When & Then
+        assertEquals(-1, limiter.tryAcquire(Priority.CRITICAL));
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_ShouldCapEachPriorityAtItsShareOfTheLimit() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limit, 0.9, 0.5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(Priority.SHEDDABLE) >= 0);
+        }
+
+        // When & Then
+        assertEquals(-1, limiter.tryAcquire(Priority.SHEDDABLE));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL) >= 0);
+        }
+        assertEquals(-1, limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL) >= 0);
+        assertEquals(-1, limiter.tryAcquire(Priority.CRITICAL));
+    }
+
+    @Test
+    void tryAcquire_ShouldAdmitAtLeastOne_WhenShareRoundsToZero() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limit, 0.9, 0.01);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire(Priority.SHEDDABLE) >= 0);
+        assertEquals(-1, limiter.tryAcquire(Priority.SHEDDABLE));
+    }
+
+    @Test
+    void release_ShouldFreeTheSlotAndReportTheSampleForItsGroup() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limit, 0.9, 0.5);
+        long start = 0;
+        for (int i = 0; i < 5; i++) {
+            start = limiter.tryAcquire(Priority.SHEDDABLE);
+        }
+
+        // When
+        limiter.release(EndpointGroup.SEARCH, start, true);
+
+        // Then
+        assertEquals(4, limiter.getInFlight());
+        verify(limit).onSample(eq(EndpointGroup.SEARCH), anyLong(), eq(5), eq(true));
+        assertTrue(limiter.tryAcquire(Priority.SHEDDABLE) >= 0);
+    }
+}
@@ -0,0 +1,319 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.config.IdempotencyProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyStore store;
+
+    @Mock
+    private FilterChain chain;
+
+    private IdempotencyProperties properties;
+    private IdempotencyFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        filter = new IdempotencyFilter(store, properties, new ObjectMapper().findAndRegisterModules());
+        request = new MockHttpServletRequest("POST", "/api/loans");
+        request.addHeader("Idempotency-Key", "abc-123");
+        request.setParameter("bookId", "book1");
+        request.setParameter("borrowerId", "borrower1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ShouldStoreResponse_WhenKeyIsNew() throws Exception {
+        // Given
+        when(store.claim(eq("abc-123"), anyString(), any())).thenReturn(null);
+        doAnswer(invocation -> {
+            reachController(invocation.getArgument(0));
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.setStatus(201);
+            wrapped.setContentType("application/json");
+            wrapped.getOutputStream().write("{\"id\":\"loan1\"}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        ArgumentCaptor<IdempotencyStore.Entry> entry = ArgumentCaptor.forClass(IdempotencyStore.Entry.class);
+        verify(store).complete(eq("abc-123"), entry.capture(), eq(properties.getTtl()));
+        assertTrue(entry.getValue().completed());
+        assertEquals(201, entry.getValue().status());
+        assertEquals("{\"id\":\"loan1\"}",
+                new String(Base64.getDecoder().decode(entry.getValue().body()), StandardCharsets.UTF_8));
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":\"loan1\"}", response.getContentAsString());
+        verify(store, never()).release(any());
+    }
+
+    @Test
+    void doFilter_ShouldReplayStoredResponse_WhenKeyIsCompleted() throws Exception {
+        // Given
+        String body = Base64.getEncoder().encodeToString("{\"id\":\"loan1\"}".getBytes(StandardCharsets.UTF_8));
+        when(store.claim(eq("abc-123"), anyString(), any())).thenAnswer(invocation ->
+                new IdempotencyStore.Entry(true, invocation.getArgument(1), 201, "application/json", body));
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verifyNoInteractions(chain);
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"id\":\"loan1\"}", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_ShouldReturnConflict_WhenKeyIsInProgress() throws Exception {
+        // Given
+        when(store.claim(eq("abc-123"), anyString(), any()))
+                .thenAnswer(invocation -> IdempotencyStore.Entry.inProgress(invocation.getArgument(1)));
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verifyNoInteractions(chain);
+        assertEquals(409, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_ShouldReturnUnprocessable_WhenKeyWasUsedForDifferentRequest() throws Exception {
+        // Given
+        when(store.claim(eq("abc-123"), anyString(), any()))
+                .thenReturn(IdempotencyStore.Entry.inProgress("PATCH /api/loans/loan1/return 00"));
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verifyNoInteractions(chain);
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldStoreServerError_WhenControllerRan() throws Exception {
+        // Given
+        when(store.claim(eq("abc-123"), anyString(), any())).thenReturn(null);
+        doAnswer(invocation -> {
+            reachController(invocation.getArgument(0));
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.setStatus(503);
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        ArgumentCaptor<IdempotencyStore.Entry> entry = ArgumentCaptor.forClass(IdempotencyStore.Entry.class);
+        verify(store).complete(eq("abc-123"), entry.capture(), eq(properties.getTtl()));
+        assertEquals(503, entry.getValue().status());
+        verify(store, never()).release(any());
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldNotRunControllerAgain_WhenRetriedAfterServerError() throws Exception {
+        // Given
+        ArgumentCaptor<IdempotencyStore.Entry> stored = ArgumentCaptor.forClass(IdempotencyStore.Entry.class);
+        when(store.claim(eq("abc-123"), anyString(), any()))
+                .thenReturn(null)
+                .thenAnswer(invocation -> stored.getValue());
+        doAnswer(invocation -> {
+            reachController(invocation.getArgument(0));
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.setStatus(503);
+            return null;
+        }).when(chain).doFilter(any(), any());
+        filter.doFilter(request, response, chain);
+        verify(store).complete(eq("abc-123"), stored.capture(), any());
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request, retry, chain);
+
+        // Then
+        verify(chain, times(1)).doFilter(any(), any());
+        assertEquals(503, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void doFilter_ShouldReleaseKey_WhenRejectedBeforeController() throws Exception {
+        // Given
+        when(store.claim(eq("abc-123"), anyString(), any())).thenReturn(null);
+        doAnswer(invocation -> {
+            HttpServletResponse wrapped = invocation.getArgument(1);
+            wrapped.setStatus(503);
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verify(store).release("abc-123");
+        verify(store, never()).complete(any(), any(), any());
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldStoreUnknownOutcome_WhenControllerThrows() throws Exception {
+        // Given
+        when(store.claim(eq("abc-123"), anyString(), any())).thenReturn(null);
+        doAnswer(invocation -> {
+            reachController(invocation.getArgument(0));
+            throw new IllegalStateException("boom");
+        }).when(chain).doFilter(any(), any());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, response, chain));
+        ArgumentCaptor<IdempotencyStore.Entry> entry = ArgumentCaptor.forClass(IdempotencyStore.Entry.class);
+        verify(store).complete(eq("abc-123"), entry.capture(), eq(properties.getTtl()));
+        assertTrue(entry.getValue().completed());
+        assertEquals(500, entry.getValue().status());
+        verify(store, never()).release(any());
+    }
+
+    @Test
+    void doFilter_ShouldExposeKeyToController_WhenKeyIsClaimed() throws Exception {
+        // Given
+        when(store.claim(eq("abc-123"), anyString(), any())).thenReturn(null);
+        doAnswer(invocation -> {
+            ServletRequest forwarded = invocation.getArgument(0);
+            assertEquals("abc-123", forwarded.getAttribute(IdempotencyFilter.KEY_ATTRIBUTE));
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_ShouldPassBodyToController_WhenBodyIsFingerprinted() throws Exception {
+        // Given
+        request.setContentType("application/json");
+        request.setContent("{\"note\":\"kiosk 4\"}".getBytes(StandardCharsets.UTF_8));
+        when(store.claim(eq("abc-123"), anyString(), any())).thenReturn(null);
+        doAnswer(invocation -> {
+            ServletRequest forwarded = invocation.getArgument(0);
+            assertEquals("{\"note\":\"kiosk 4\"}",
+                    new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_ShouldNotifyReadListener_WhenControllerReadsBodyAsynchronously() throws Exception {
+        // Given
+        request.setContentType("application/json");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        ReadListener listener = mock(ReadListener.class);
+        when(store.claim(eq("abc-123"), anyString(), any())).thenReturn(null);
+        doAnswer(invocation -> {
+            ServletRequest forwarded = invocation.getArgument(0);
+            forwarded.getInputStream().setReadListener(listener);
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        InOrder order = inOrder(listener);
+        order.verify(listener).onDataAvailable();
+        order.verify(listener).onAllDataRead();
+    }
+
+    @Test
+    void fingerprint_ShouldDiffer_WhenParametersOrBodyDiffer() {
+        // Given
+        MockHttpServletRequest otherBook = new MockHttpServletRequest("POST", "/api/loans");
+        otherBook.setParameter("bookId", "book2");
+        otherBook.setParameter("borrowerId", "borrower1");
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        String original = IdempotencyFilter.fingerprint(request, new byte[0]);
+
+        // Then
+        assertEquals(original, IdempotencyFilter.fingerprint(request, new byte[0]));
+        assertNotEquals(original, IdempotencyFilter.fingerprint(otherBook, new byte[0]));
+        assertNotEquals(original, IdempotencyFilter.fingerprint(request, body));
+        assertTrue(original.startsWith("POST /api/loans "));
+    }
+
+    @Test
+    void doFilter_ShouldRunRequest_WhenStoreIsUnavailable() throws Exception {
+        // Given
+        when(store.claim(any(), any(), any())).thenThrow(new QueryTimeoutException("Redis down"));
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(any(), eq(response));
+    }
+
+    @Test
+    void doFilter_ShouldSkip_WhenHeaderIsMissing() throws Exception {
+        // Given
+        MockHttpServletRequest plain = new MockHttpServletRequest("POST", "/api/loans");
+
+        // When
+        filter.doFilter(plain, response, chain);
+
+        // Then
+        verify(chain).doFilter(plain, response);
+        verifyNoInteractions(store);
+    }
+
+    private static void reachController(ServletRequest request) {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new Object());
+    }
+}
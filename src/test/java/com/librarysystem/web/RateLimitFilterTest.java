@@ -0,0 +1,93 @@
+package com.librarysystem.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarysystem.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private FilterChain chain;
+
+    private RateLimitProperties properties;
+    private EndpointClassifier classifier;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setApiKeys(List.of("kiosk-key"));
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(10);
+        limit.setRefillPerSecond(2);
+        properties.getGroups().put(EndpointGroup.CHECKOUT, limit);
+        classifier = new EndpointClassifier(Map.of(EndpointGroup.CHECKOUT, List.of("POST /api/loans")));
+        request = new MockHttpServletRequest("POST", "/api/loans");
+        request.setRemoteAddr("203.0.113.7");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ShouldLimitPerKey_WhenKeyIsConfigured() throws Exception {
+        // Given
+        request.addHeader("X-API-Key", "kiosk-key");
+        when(rateLimiter.tryAcquire(startsWith("checkout:key:"), eq(10L), eq(2.0)))
+                .thenReturn(new RateLimiter.Decision(true, 9, 1, 0));
+
+        // When
+        new RateLimitFilter(classifier, rateLimiter, properties, new ObjectMapper().findAndRegisterModules()).doFilter(request, response, chain);
+
+        // Then
+        verify(chain).doFilter(request, response);
+        assertEquals("9", response.getHeader("RateLimit-Remaining"));
+    }
+
+    @Test
+    void doFilter_ShouldLimitPerAddress_WhenKeyIsUnknown() throws Exception {
+        // Given
+        request.addHeader("X-API-Key", "made-up-key");
+        when(rateLimiter.tryAcquire(eq("checkout:ip:203.0.113.7"), anyLong(), anyDouble()))
+                .thenReturn(new RateLimiter.Decision(false, 0, 5, 1));
+
+        // When
+        new RateLimitFilter(classifier, rateLimiter, properties, new ObjectMapper().findAndRegisterModules()).doFilter(request, response, chain);
+
+        // Then
+        verifyNoInteractions(chain);
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenRefillRateIsZero() {
+        // Given
+        properties.getGroups().get(EndpointGroup.CHECKOUT).setRefillPerSecond(0);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new RateLimitFilter(classifier, rateLimiter, properties, new ObjectMapper().findAndRegisterModules()));
+        assertTrue(exception.getMessage().contains("library.rate-limit.groups.checkout.refill-per-second"));
+    }
+}
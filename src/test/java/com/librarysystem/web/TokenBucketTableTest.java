@@ -0,0 +1,59 @@
+package com.librarysystem.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTableTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucketTable table = new TokenBucketTable(4, 100, clock::get);
+
+    @Test
+    void tryAcquire_ShouldRejectWhenBucketIsEmpty() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            assertTrue(table.tryAcquire("client", 3, 1.0).allowed());
+        }
+
+        // When
+        RateLimiter.Decision decision = table.tryAcquire("client", 3, 1.0);
+
+        // Then
+        assertFalse(decision.allowed());
+        assertEquals(0, decision.remaining());
+        assertEquals(1, decision.retryAfterSeconds());
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        // Given
+        table.tryAcquire("client", 2, 2.0);
+        table.tryAcquire("client", 2, 2.0);
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        RateLimiter.Decision decision = table.tryAcquire("client", 2, 2.0);
+
+        // Then
+        assertTrue(decision.allowed());
+        assertEquals(0, decision.remaining());
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerKey() {
+        // Given
+        table.tryAcquire("first", 1, 1.0);
+
+        // When
+        RateLimiter.Decision first = table.tryAcquire("first", 1, 1.0);
+        RateLimiter.Decision second = table.tryAcquire("second", 1, 1.0);
+
+        // Then
+        assertFalse(first.allowed());
+        assertTrue(second.allowed());
+    }
+}
@@ -0,0 +1,70 @@
+package com.librarysystem.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VegasLimitTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void onSample_ShouldGrowLimitWhenLatencyStaysAtBaseline() {
+        // Given
+        VegasLimit limit = new VegasLimit(20, 4, 200, 0.5, 1000);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(EndpointGroup.DEFAULT, BASE_RTT, limit.getLimit(), false);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    void onSample_ShouldShrinkLimitWhenLatencyRises() {
+        // Given
+        VegasLimit limit = new VegasLimit(100, 4, 200, 0.5, 1000);
+        limit.onSample(EndpointGroup.DEFAULT, BASE_RTT, 100, false);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(EndpointGroup.DEFAULT, BASE_RTT * 5, limit.getLimit(), false);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() < 100);
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    @Test
+    void onSample_ShouldIgnoreLatencyWhenMostlyIdle() {
+        // Given
+        VegasLimit limit = new VegasLimit(50, 4, 200, 0.5, 1000);
+        limit.onSample(EndpointGroup.DEFAULT, BASE_RTT, 1, false);
+
+        // When
+        limit.onSample(EndpointGroup.DEFAULT, BASE_RTT * 10, 1, false);
+
+        // Then
+        assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    void onSample_ShouldJudgeEachGroupAgainstItsOwnBaseline() {
+        // Given
+        VegasLimit limit = new VegasLimit(100, 4, 200, 0.5, 1000);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(EndpointGroup.CHECKOUT, BASE_RTT, limit.getLimit(), false);
+            limit.onSample(EndpointGroup.EXPORT, BASE_RTT * 50, limit.getLimit(), false);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() >= 100);
+    }
+}